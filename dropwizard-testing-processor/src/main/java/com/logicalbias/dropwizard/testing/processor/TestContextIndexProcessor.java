@@ -0,0 +1,437 @@
+package com.logicalbias.dropwizard.testing.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * <p>
+ * Annotation processor which indexes every @DropwizardTest class at compile time. For each test class the index records
+ * the context fingerprint (a digest of the application, configuration file, web environment, properties, mocks and
+ * imports it declares). The dropwizard-testing extension uses the fingerprints to group test classes requiring the same
+ * application before any of them runs.
+ * </p>
+ * <p>
+ * The processor only requires the annotations by name; add it to the test annotation processor path (or test classpath)
+ * of a project. The index is written to {@value #INDEX_LOCATION} and merged with the index of any previous (incremental)
+ * compilation of the same output directory.
+ * </p>
+ */
+@SupportedAnnotationTypes("*")
+public class TestContextIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX_LOCATION = "META-INF/dropwizard-testing/test-context.index";
+
+    static final String FINGERPRINT = "fingerprint";
+
+    private static final String DROPWIZARD_TEST = "com.logicalbias.dropwizard.testing.extension.context.DropwizardTest";
+    private static final String ANNOTATION_PACKAGE = "com.logicalbias.dropwizard.testing.extension.annotation.";
+    private static final String MOCK_BEAN = ANNOTATION_PACKAGE + "MockBean";
+    private static final String MOCK_BEANS = ANNOTATION_PACKAGE + "MockBeans";
+    private static final String IMPORT = ANNOTATION_PACKAGE + "Import";
+    private static final String IMPORTS = ANNOTATION_PACKAGE + "Imports";
+    private static final String TEST_PROPERTIES = ANNOTATION_PACKAGE + "TestProperties";
+
+    private final Map<String, Map<String, String>> entries = new TreeMap<>();
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        else {
+            roundEnv.getRootElements().forEach(this::indexTestClasses);
+        }
+
+        // Never claim any annotations; other processors (e.g. lombok) must still see them
+        return false;
+    }
+
+    private void indexTestClasses(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+
+        var type = (TypeElement) element;
+        processedTypes.add(binaryName(type));
+        if (type.getKind() == ElementKind.CLASS) {
+            findFirst(type, DROPWIZARD_TEST).ifPresent(dropwizardTest -> indexTestClass(type, dropwizardTest));
+        }
+
+        // Nested test classes
+        type.getEnclosedElements().forEach(this::indexTestClasses);
+    }
+
+    private void indexTestClass(TypeElement type, AnnotationMirror dropwizardTest) {
+        var fingerprint = new ArrayList<String>();
+        var dropwizardTestValues = values(dropwizardTest);
+        fingerprint.add("application=" + typeName((TypeMirror) dropwizardTestValues.get("value").getValue()));
+        fingerprint.add("configFile=" + dropwizardTestValues.get("configFile").getValue());
+        fingerprint.add("useResourceFilePath=" + dropwizardTestValues.get("useResourceFilePath").getValue());
+        fingerprint.add("webEnvironment=" + ((VariableElement) dropwizardTestValues.get("webEnvironment").getValue()).getSimpleName());
+        fingerprint.add("virtualThreads=" + dropwizardTestValues.get("virtualThreads").getValue());
+
+        // Properties are compared as a map; their order does not affect the application
+        new TreeMap<>(resolveProperties(type, dropwizardTestValues))
+                .forEach((key, value) -> fingerprint.add("property=" + key + "=" + value));
+
+        // Class and field level mocks of the same type and name are a single mock definition
+        var mocks = new LinkedHashSet<String>();
+        for (var mockBean : findAll(type, MOCK_BEAN, MOCK_BEANS)) {
+            var mockTypes = arrayValue(mockBean, "value");
+            if (mockTypes.isEmpty()) {
+                error(type, "@MockBean(value=?) is required at class level.");
+            }
+            for (var mockType : mockTypes) {
+                // Only use bean name definition if exactly one mock type is specified on the @MockBean annotation.
+                var name = mockTypes.size() <= 1 ? values(mockBean).get("name").getValue() : null;
+                mocks.add("mock=" + mockType.getValue() + "|" + name);
+            }
+        }
+
+        for (var field : findMockBeanFields(type)) {
+            var mockBean = findDirect(field, MOCK_BEAN);
+            mocks.add("mock=" + field.asType() + "|" + values(mockBean).get("name").getValue());
+        }
+        fingerprint.addAll(mocks);
+
+        for (var importBean : findAll(type, IMPORT, IMPORTS)) {
+            var importTypes = arrayValue(importBean, "value");
+            for (var importType : importTypes) {
+                var name = importTypes.size() <= 1 ? values(importBean).get("name").getValue() : null;
+                fingerprint.add("import=" + typeName((TypeMirror) importType.getValue()) + "|" + name);
+            }
+        }
+
+        var entry = new LinkedHashMap<String, String>();
+        entry.put(FINGERPRINT, digest(fingerprint));
+        entries.put(binaryName(type), entry);
+    }
+
+    /**
+     * Resolves the properties of the test class the same way the extension does: @TestProperties annotations in
+     * inheritance order take precedence over the @DropwizardTest properties.
+     */
+    private Map<String, String> resolveProperties(TypeElement type, Map<String, AnnotationValue> dropwizardTestValues) {
+        var propertyValues = new ArrayList<AnnotationValue>();
+        for (var inheritedType : inheritanceTree(type)) {
+            var testProperties = findDirect(inheritedType, TEST_PROPERTIES);
+            if (testProperties != null) {
+                propertyValues.addAll(arrayValue(testProperties, "properties"));
+            }
+        }
+        propertyValues.addAll(asList(dropwizardTestValues.get("properties")));
+
+        var properties = new LinkedHashMap<String, String>();
+        for (var propertyValue : propertyValues) {
+            var property = (String) propertyValue.getValue();
+            var props = property.split("=");
+            if (props.length != 2) {
+                error(type, "Invalid property detected: " + property);
+                continue;
+            }
+            if (!props[0].isBlank() && !props[1].isBlank()) {
+                properties.putIfAbsent(props[0], props[1]);
+            }
+        }
+        return properties;
+    }
+
+    // ********************************************************************************
+    // Annotation lookups mirroring the junit AnnotationSupport semantics used at runtime
+    // ********************************************************************************
+
+    /**
+     * Finds the first (directly or meta) present annotation on the type, then its interfaces and then its superclasses.
+     */
+    private Optional<AnnotationMirror> findFirst(TypeElement type, String annotation) {
+        for (var current = type; current != null; current = superclass(current)) {
+            var found = findFirstDeclared(current, annotation, new HashSet<>());
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<AnnotationMirror> findFirstDeclared(TypeElement type, String annotation, Set<String> visited) {
+        var found = new ArrayList<AnnotationMirror>();
+        collect(type.getAnnotationMirrors(), annotation, "", found, new HashSet<>());
+        if (!found.isEmpty()) {
+            return Optional.of(found.get(0));
+        }
+
+        for (var interfaceType : type.getInterfaces()) {
+            var interfaceElement = asTypeElement(interfaceType);
+            if (visited.add(binaryName(interfaceElement))) {
+                var inherited = findFirstDeclared(interfaceElement, annotation, visited);
+                if (inherited.isPresent()) {
+                    return inherited;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds all (directly, indirectly or meta) present repeatable annotations of the type hierarchy, top-down.
+     */
+    private List<AnnotationMirror> findAll(TypeElement type, String annotation, String container) {
+        var found = new LinkedHashMap<String, AnnotationMirror>();
+        findAll(type, annotation, container, found, new HashSet<>());
+        return new ArrayList<>(found.values());
+    }
+
+    private void findAll(TypeElement type, String annotation, String container, Map<String, AnnotationMirror> found, Set<String> visited) {
+        var superclass = superclass(type);
+        if (superclass != null) {
+            findAll(superclass, annotation, container, found, visited);
+        }
+        for (var interfaceType : type.getInterfaces()) {
+            findAll(asTypeElement(interfaceType), annotation, container, found, visited);
+        }
+
+        var mirrors = new ArrayList<AnnotationMirror>();
+        collect(type.getAnnotationMirrors(), annotation, container, mirrors, visited);
+        mirrors.forEach(mirror -> found.putIfAbsent(mirror.toString(), mirror));
+    }
+
+    private void collect(List<? extends AnnotationMirror> mirrors, String annotation, String container,
+            List<AnnotationMirror> found, Set<String> visited) {
+        for (var mirror : mirrors) {
+            var annotationType = asTypeElement(mirror.getAnnotationType());
+            var annotationName = annotationType.getQualifiedName().toString();
+
+            if (annotationName.equals(annotation)) {
+                found.add(mirror);
+            }
+            else if (annotationName.equals(container)) {
+                arrayValue(mirror, "value").forEach(value -> found.add((AnnotationMirror) value.getValue()));
+            }
+            else if (!annotationName.startsWith("java.lang.annotation.") && visited.add(annotationName)) {
+                // Composed annotations
+                collect(annotationType.getAnnotationMirrors(), annotation, container, found, visited);
+            }
+        }
+    }
+
+    private AnnotationMirror findDirect(Element element, String annotation) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            if (asTypeElement(mirror.getAnnotationType()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the @MockBean fields of the class and its superclasses (in that order).
+     */
+    private List<VariableElement> findMockBeanFields(TypeElement type) {
+        var fields = new ArrayList<VariableElement>();
+        for (var current = type; current != null; current = superclass(current)) {
+            for (var element : current.getEnclosedElements()) {
+                if (element.getKind() == ElementKind.FIELD && findDirect(element, MOCK_BEAN) != null) {
+                    fields.add((VariableElement) element);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * The type, its superclasses and interfaces in BFS order.
+     */
+    private List<TypeElement> inheritanceTree(TypeElement type) {
+        var inheritedTypes = new LinkedHashSet<TypeElement>();
+        var bfsQueue = new ArrayDeque<TypeElement>();
+        bfsQueue.add(type);
+
+        while (!bfsQueue.isEmpty()) {
+            var current = bfsQueue.pop();
+            inheritedTypes.add(current);
+
+            var superclass = superclass(current);
+            if (superclass != null) {
+                bfsQueue.add(superclass);
+            }
+            current.getInterfaces().forEach(interfaceType -> bfsQueue.add(asTypeElement(interfaceType)));
+        }
+        return new ArrayList<>(inheritedTypes);
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        var superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        var superElement = asTypeElement(superclass);
+        return superElement.getQualifiedName().contentEquals(Object.class.getName()) ? null : superElement;
+    }
+
+    // ********************************************************************************
+    // Utility methods
+    // ********************************************************************************
+
+    private Map<String, AnnotationValue> values(AnnotationMirror mirror) {
+        var values = new HashMap<String, AnnotationValue>();
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror)
+                .forEach((element, value) -> values.put(element.getSimpleName().toString(), value));
+        return values;
+    }
+
+    private List<? extends AnnotationValue> arrayValue(AnnotationMirror mirror, String name) {
+        return asList(values(mirror).get(name));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> asList(AnnotationValue value) {
+        // A single value may be given in place of an array
+        return value.getValue() instanceof List
+                ? (List<? extends AnnotationValue>) value.getValue()
+                : List.of(value);
+    }
+
+    private TypeElement asTypeElement(TypeMirror type) {
+        return (TypeElement) processingEnv.getTypeUtils().asElement(type);
+    }
+
+    private String typeName(TypeMirror type) {
+        return type instanceof DeclaredType
+                ? binaryName(asTypeElement(type))
+                : type.toString();
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String digest(List<String> fingerprint) {
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            var digest = messageDigest.digest(String.join("\n", fingerprint).getBytes(StandardCharsets.UTF_8));
+
+            var hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ********************************************************************************
+    // Index output
+    // ********************************************************************************
+
+    private void writeIndex() {
+        var index = readPreviousIndex();
+        index.putAll(entries);
+        if (index.isEmpty()) {
+            return;
+        }
+
+        var filer = processingEnv.getFiler();
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION).openWriter()) {
+            writer.write("# Generated by the dropwizard-testing-processor; do not edit.\n");
+            for (var entry : index.entrySet()) {
+                for (var attribute : entry.getValue().entrySet()) {
+                    writer.write(escape(entry.getKey() + "." + attribute.getKey()) + "=" + escape(attribute.getValue()) + "\n");
+                }
+            }
+        }
+        catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX_LOCATION + ": " + e);
+        }
+    }
+
+    /**
+     * Incremental compilations only process the changed sources; keep the entries of previously indexed test classes
+     * which were not compiled again and still exist.
+     */
+    private Map<String, Map<String, String>> readPreviousIndex() {
+        var index = new TreeMap<String, Map<String, String>>();
+        var properties = new Properties();
+        try (InputStream inputStream = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION).openInputStream()) {
+            properties.load(inputStream);
+        }
+        catch (IOException | IllegalArgumentException e) {
+            // No previous index
+            return index;
+        }
+
+        var elements = processingEnv.getElementUtils();
+        for (var name : properties.stringPropertyNames()) {
+            var separator = name.lastIndexOf('.');
+            var testClassName = name.substring(0, separator);
+            if (!processedTypes.contains(testClassName) && elements.getTypeElement(testClassName.replace('$', '.')) != null) {
+                index.computeIfAbsent(testClassName, k -> new LinkedHashMap<>())
+                        .put(name.substring(separator + 1), properties.getProperty(name));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Escapes the given value for a (latin-1) properties file.
+     */
+    private static String escape(String value) {
+        var escaped = new StringBuilder();
+        for (var c : value.toCharArray()) {
+            if (c == '\\' || c == '=' || c == ':' || c == '#' || c == '!' || c == ' ') {
+                escaped.append('\\').append(c);
+            }
+            else if (c < 0x20 || c > 0x7e) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.core.Application;
+import io.dropwizard.core.Configuration;
+import io.dropwizard.core.setup.Environment;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.TestProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The extension reads the fingerprints written by the processor; the fixtures below are indexed (but never run).
+ */
+class TestContextIndexFingerprintTest {
+
+    @Test
+    void testIndexedClassesAreGroupedByFingerprint() {
+        var fingerprint = TestContextIndex.findFingerprint(PlainTest.class);
+        assertTrue(fingerprint.isPresent());
+        assertEquals(fingerprint, TestContextIndex.findFingerprint(InheritedTest.class));
+        assertNotEquals(fingerprint, TestContextIndex.findFingerprint(ComposedTest.class));
+    }
+
+    @Test
+    void testUnindexedClassesHaveNoFingerprint() {
+        assertTrue(TestContextIndex.findFingerprint(TestContextIndexFingerprintTest.class).isEmpty());
+        assertTrue(TestContextIndex.findFingerprint(String.class).isEmpty());
+    }
+
+    // ********************************************************************************
+    // Indexed fixtures
+    // ********************************************************************************
+
+    public static class FixtureApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) {
+        }
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @TestProperties(properties = "logging.level=INFO")
+    @interface InfoLogging {
+    }
+
+    @DropwizardTest(value = FixtureApplication.class, configFile = "config.yml")
+    static class PlainTest {
+    }
+
+    static class InheritedTest extends PlainTest {
+    }
+
+    @InfoLogging
+    static class ComposedTest extends PlainTest {
+        @MockBean
+        private Supplier<String> supplier;
+    }
+}
@@ -0,0 +1,142 @@
+package com.logicalbias.dropwizard.testing.processor;
+
+import io.dropwizard.core.Application;
+import io.dropwizard.core.Configuration;
+import io.dropwizard.core.setup.Environment;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.extension.annotation.Import;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockReset;
+import com.logicalbias.dropwizard.testing.extension.annotation.TestProperties;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The test sources of this module are compiled with the processor; the fixtures below are indexed (but never run).
+ */
+class TestContextIndexProcessorTest {
+
+    private static Properties index;
+
+    @BeforeAll
+    static void loadIndex() throws IOException {
+        index = new Properties();
+        try (var inputStream = TestContextIndexProcessorTest.class.getClassLoader()
+                .getResourceAsStream(TestContextIndexProcessor.INDEX_LOCATION)) {
+            assertNotNull(inputStream, "The test context index was not generated");
+            index.load(inputStream);
+        }
+    }
+
+    @Test
+    void testEquivalentDeclarationsShareFingerprint() {
+        assertEquals(fingerprint(PlainTest.class), fingerprint(ReorderedPropertiesTest.class));
+        assertEquals(fingerprint(PlainTest.class), fingerprint(InheritedTest.class));
+    }
+
+    @Test
+    void testDifferentDeclarationsHaveDifferentFingerprints() {
+        assertNotEquals(fingerprint(PlainTest.class), fingerprint(MockedTest.class));
+        assertNotEquals(fingerprint(PlainTest.class), fingerprint(OtherPropertiesTest.class));
+        assertNotEquals(fingerprint(PlainTest.class), fingerprint(VirtualThreadsTest.class));
+    }
+
+    @Test
+    void testInheritedMockBeanFields() {
+        assertEquals(fingerprint(MockedTest.class), fingerprint(InheritedMockedTest.class));
+    }
+
+    @Test
+    void testTestClassesDeclaredThroughInterfacesAreIndexed() {
+        assertEquals(fingerprint(PlainTest.class), fingerprint(InterfaceDeclaredTest.class));
+        assertNull(fingerprint(DeclaringInterface.class));
+    }
+
+    @Test
+    void testOnlyFingerprintsAreIndexed() {
+        assertEquals(Set.of(TestContextIndexProcessor.FINGERPRINT), index.stringPropertyNames().stream()
+                .map(name -> name.substring(name.lastIndexOf('.') + 1))
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testNonTestClassesAreNotIndexed() {
+        assertNull(fingerprint(FixtureApplication.class));
+        assertNull(fingerprint(TestContextIndexProcessorTest.class));
+        assertFalse(index.isEmpty());
+    }
+
+    private static String fingerprint(Class<?> testClass) {
+        return attribute(testClass, TestContextIndexProcessor.FINGERPRINT);
+    }
+
+    private static String attribute(Class<?> testClass, String attribute) {
+        return index.getProperty(testClass.getName() + "." + attribute);
+    }
+
+    // ********************************************************************************
+    // Indexed fixtures
+    // ********************************************************************************
+
+    public static class FixtureApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) {
+        }
+    }
+
+    @DropwizardTest(value = FixtureApplication.class, configFile = "config.yml", properties = "server.type=simple")
+    @TestProperties(properties = { "logging.level=INFO", "database.url=memory" })
+    static class PlainTest {
+    }
+
+    @DropwizardTest(value = FixtureApplication.class, configFile = "config.yml", properties = { "database.url=memory", "server.type=simple" })
+    @TestProperties(properties = "logging.level=INFO")
+    static class ReorderedPropertiesTest {
+    }
+
+    static class InheritedTest extends PlainTest {
+    }
+
+    @DropwizardTest(value = FixtureApplication.class, configFile = "config.yml", properties = "server.type=default")
+    static class OtherPropertiesTest {
+    }
+
+    @DropwizardTest(value = FixtureApplication.class, configFile = "config.yml", properties = "server.type=simple", virtualThreads = true)
+    @TestProperties(properties = { "logging.level=INFO", "database.url=memory" })
+    static class VirtualThreadsTest {
+    }
+
+    @MockBean(Runnable.class)
+    @Import(String.class)
+    @MockReset(MockReset.Policy.AFTER_CLASS)
+    static class MockedTest extends PlainTest {
+        @MockBean
+        private Supplier<List<String>> supplier;
+    }
+
+    static class InheritedMockedTest extends MockedTest {
+    }
+
+    @DropwizardTest(value = FixtureApplication.class, configFile = "config.yml", properties = "server.type=simple")
+    @TestProperties(properties = { "logging.level=INFO", "database.url=memory" })
+    interface DeclaringInterface {
+    }
+
+    static class InterfaceDeclaredTest implements DeclaringInterface {
+    }
+}
@@ -38,4 +38,15 @@ public @interface MockBean {
      * The name of the mock. This is ignored if {@link MockBean#value} contains more than one value.
      */
     String name() default "";
+
+    /**
+     * Creates stub-only mocks which do not record their invocations. Recorded invocations grow without bound when a mock
+     * is invoked many times (e.g. load tests); stub-only mocks keep a constant footprint but cannot be verified.
+     */
+    boolean stubOnly() default false;
+
+    /**
+     * Simulated latency and failures applied to every invocation of the mock made by the application.
+     */
+    MockLatency latency() default @MockLatency;
 }
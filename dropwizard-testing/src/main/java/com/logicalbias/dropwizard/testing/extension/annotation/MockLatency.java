@@ -0,0 +1,78 @@
+package com.logicalbias.dropwizard.testing.extension.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Simulated latency and failure profile of a {@link MockBean}. The profile is applied to every invocation made by the
+ * application against the mock (before the stubbed answer is evaluated); invocations made directly by the test are
+ * not affected.
+ * </p>
+ *
+ * <pre>
+ * &#64;MockBean(value = ItemClient.class, latency = &#64;MockLatency(
+ *         distribution = MockLatency.Distribution.PERCENTILE,
+ *         percentiles = { "50=20", "99=250" },
+ *         errorRate = 0.01,
+ *         error = ProcessingException.class))
+ * </pre>
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MockLatency {
+
+    Distribution distribution() default Distribution.NONE;
+
+    /**
+     * The delay in milliseconds of the FIXED distribution or the minimum delay of the UNIFORM distribution.
+     */
+    long millis() default 0;
+
+    /**
+     * The maximum delay in milliseconds of the UNIFORM distribution.
+     */
+    long maxMillis() default 0;
+
+    /**
+     * The percentile=millis points of the PERCENTILE distribution (e.g. "50=20", "99=250"). Delays between two points are
+     * interpolated linearly; delays above the highest percentile use its value.
+     */
+    String[] percentiles() default {};
+
+    /**
+     * The ratio (0.0 - 1.0) of invocations which fail with the {@link #error} after the delay has elapsed.
+     */
+    double errorRate() default 0;
+
+    /**
+     * The exception thrown by failing invocations; it must provide a public no-argument or String constructor.
+     * A checked exception must be declared by every method of the mocked type; otherwise the mock is rejected.
+     */
+    Class<? extends Throwable> error() default RuntimeException.class;
+
+    enum Distribution {
+        /**
+         * No simulated delay; failures may still be simulated through the error rate.
+         */
+        NONE,
+
+        /**
+         * Every invocation is delayed by {@link #millis}.
+         */
+        FIXED,
+
+        /**
+         * Invocations are delayed by a uniformly distributed value between {@link #millis} and {@link #maxMillis}.
+         */
+        UNIFORM,
+
+        /**
+         * Invocations are delayed according to the {@link #percentiles} of the distribution.
+         */
+        PERCENTILE
+    }
+}
@@ -0,0 +1,43 @@
+package com.logicalbias.dropwizard.testing.extension.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Defines when the {@link MockBean} mocks of a test class are reset. Only mocks which were stubbed or invoked are reset.
+ * Test classes without this annotation reset their mocks after each test.
+ * </p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface MockReset {
+
+    Policy value();
+
+    enum Policy {
+        /**
+         * Reset mocks after every test method (default).
+         */
+        AFTER_EACH,
+
+        /**
+         * Reset mocks once all tests in the class have completed; stubbing is shared by every test in the class. A
+         * {@code @Nested} class also resets the mocks it shares with its enclosing class, so its stubbing does not carry
+         * over to the enclosing class or to the {@code @Nested} classes running after it.
+         */
+        AFTER_CLASS,
+
+        /**
+         * Never reset mocks; stubbing of mocks shared with an enclosing class carries over to the {@code @Nested}
+         * classes running after it.
+         */
+        NEVER
+    }
+}
@@ -0,0 +1,61 @@
+package com.logicalbias.dropwizard.testing.extension.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Timings of every request an application served for a single resource method (or of the requests which did not match
+ * any resource method).
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class EndpointTiming {
+
+    private final String method;
+    private final String path;
+    private final int count;
+
+    /**
+     * Summed time of every request; see {@link RequestTiming#getTotal()}.
+     */
+    private final Duration total;
+    private final Duration max;
+
+    /**
+     * Summed time of every request by phase.
+     */
+    private final Map<RequestTiming.Phase, Duration> phases;
+
+    static EndpointTiming of(RequestTiming requestTiming) {
+        return new EndpointTiming(requestTiming.getMethod(), requestTiming.getPath(), 1, requestTiming.getTotal(),
+                requestTiming.getTotal(), requestTiming.getPhases());
+    }
+
+    EndpointTiming plus(EndpointTiming other) {
+        var summedPhases = new EnumMap<RequestTiming.Phase, Duration>(RequestTiming.Phase.class);
+        summedPhases.putAll(phases);
+        other.phases.forEach((phase, duration) -> summedPhases.merge(phase, duration, Duration::plus));
+
+        return new EndpointTiming(method, path, count + other.count, total.plus(other.total),
+                max.compareTo(other.max) >= 0 ? max : other.max, Collections.unmodifiableMap(summedPhases));
+    }
+
+    public Duration getMean() {
+        return total.dividedBy(count);
+    }
+
+    public Duration getMean(RequestTiming.Phase phase) {
+        return phases.getOrDefault(phase, Duration.ZERO).dividedBy(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %dx mean=%dms max=%dms", method, path, count, getMean().toMillis(), max.toMillis());
+    }
+}
@@ -10,8 +10,13 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -22,14 +27,21 @@ import org.junit.jupiter.api.Assertions;
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 public class RequestBuilder {
 
+    static final int TIMING_TIMEOUT_SECONDS = 5;
+
     private final Client client;
+    private final Executor asyncExecutor;
     private final HttpMethod httpMethod;
     private final String url;
+    private final RequestTimings requestTimings;
     private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
     private final MultivaluedMap<String, Object> params = new MultivaluedHashMap<>();
     private Object body;
     private int expectedStatus;
 
+    // Timing of the latest request sent by this builder
+    private volatile CompletableFuture<RequestTiming> timing;
+
     enum HttpMethod {
         GET,
         POST,
@@ -175,6 +187,57 @@ public class RequestBuilder {
         return callAndGetResponse();
     }
 
+    /**
+     * Invokes the request on the client's async executor (virtual threads when the application runs on virtual
+     * threads); any failed status assertion completes the future exceptionally.
+     *
+     * @return The eventual response body of the request.
+     */
+    public <T> CompletableFuture<T> andReturnAsync(Class<T> responseType) {
+        return CompletableFuture.supplyAsync(() -> andReturn(responseType), asyncExecutor);
+    }
+
+    /**
+     * Invokes the request on the client's async executor; see {@link RequestBuilder#andReturnAsync(Class)}.
+     *
+     * @return The eventual generic response body of the request.
+     */
+    public <T> CompletableFuture<T> andReturnAsync(GenericType<T> responseType) {
+        return CompletableFuture.supplyAsync(() -> andReturn(responseType), asyncExecutor);
+    }
+
+    /**
+     * Returns how long the latest request sent by this builder took and where the application spent that time (see
+     * {@link RequestTiming}). As the application may complete its timing only after the response was received, this
+     * waits up to {@value #TIMING_TIMEOUT_SECONDS} seconds after the response was received for it.
+     *
+     * @throws IllegalStateException if no request was sent, the client does not record timings or the request was not
+     *                               served by the Jersey application.
+     */
+    public RequestTiming getTiming() {
+        var timing = this.timing;
+        if (timing == null) {
+            throw new IllegalStateException("No timed request was sent by this builder; only TestClients created for a "
+                    + "@DropwizardTest application record timings.");
+        }
+
+        // The timing fails once it was not recorded in time after the response was received
+        try {
+            return timing.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on the timing of " + httpMethod + " " + url, e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("The application recorded no timing for " + httpMethod + " " + url
+                        + "; was the request served by Jersey?", e.getCause());
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private Response callAndGetResponse() {
         var target = client.target(url);
 
@@ -195,9 +258,32 @@ public class RequestBuilder {
         var request = target.request()
                 .headers(headers);
 
-        var response = body == null
-                ? request.method(httpMethod.name())
-                : request.method(httpMethod.name(), Entity.json(body));
+        // The request id ties the timing recorded by the application to this request
+        var serverTiming = new CompletableFuture<RequestTiming>();
+        var requestId = requestTimings == null ? null : requestTimings.expect(serverTiming);
+        if (requestId != null) {
+            request.header(RequestTimings.REQUEST_ID_HEADER, requestId);
+        }
+
+        var started = System.nanoTime();
+        Response response;
+        try {
+            response = body == null
+                    ? request.method(httpMethod.name())
+                    : request.method(httpMethod.name(), Entity.json(body));
+        }
+        catch (RuntimeException e) {
+            if (requestId != null) {
+                requestTimings.forget(requestId);
+            }
+            throw e;
+        }
+
+        if (requestId != null) {
+            var clientTotal = Duration.ofNanos(System.nanoTime() - started);
+            requestTimings.received(requestId);
+            this.timing = serverTiming.thenApply(timing -> timing.withClientTotal(clientTotal));
+        }
 
         assertResponse(response);
         return response;
@@ -0,0 +1,117 @@
+package com.logicalbias.dropwizard.testing.extension.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+
+/**
+ * Time a single request spent in each phase of its processing by the Jersey application (see {@link Phase}). Timings
+ * of requests sent through a {@link RequestBuilder} also hold the time until the client received the response; the
+ * remainder was spent outside of Jersey (see {@link #getNetwork()}).
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class RequestTiming {
+
+    private final String method;
+
+    /**
+     * Path template of the matched resource method (e.g. /widgets/{id}); {@value RequestTimings#UNMATCHED_PATH} when the
+     * request did not match any resource method.
+     */
+    private final String path;
+    private final int status;
+
+    /**
+     * Time from Jersey receiving the request until the response was written.
+     */
+    private final Duration total;
+    private final Map<Phase, Duration> phases;
+
+    /**
+     * Time from sending the request until its response was received (before its entity was read); null unless the
+     * request was sent through a {@link RequestBuilder}.
+     */
+    private final Duration clientTotal;
+
+    public Duration getDuration(Phase phase) {
+        return phases.getOrDefault(phase, Duration.ZERO);
+    }
+
+    /**
+     * Time the client waited on the request beyond its processing by Jersey: the network along with Jetty and any servlet
+     * filters of the application. Zero unless the request was sent through a {@link RequestBuilder}.
+     */
+    public Duration getNetwork() {
+        if (clientTotal == null || clientTotal.compareTo(total) < 0) {
+            return Duration.ZERO;
+        }
+        return clientTotal.minus(total);
+    }
+
+    RequestTiming withClientTotal(Duration clientTotal) {
+        return new RequestTiming(method, path, status, total, phases, clientTotal);
+    }
+
+    @Override
+    public String toString() {
+        var phaseTimings = phases.entrySet().stream()
+                .map(entry -> entry.getKey().name().toLowerCase() + "=" + entry.getValue().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+        var networkTiming = clientTotal == null ? "" : ", network=" + getNetwork().toMillis() + "ms";
+        return String.format("%s %s %d in %dms [%s%s]", method, path, status, total.toMillis(), phaseTimings, networkTiming);
+    }
+
+    /**
+     * Phases of the processing of a request, bounded by the Jersey {@link RequestEvent request events}. Phases which
+     * did not occur (e.g. exception mapping) are not recorded.
+     */
+    public enum Phase {
+        /**
+         * Pre-matching request filters and matching the request to a resource method.
+         */
+        MATCHING(RequestEvent.Type.START, RequestEvent.Type.REQUEST_MATCHED),
+        /**
+         * Request filters of the matched resource method.
+         */
+        REQUEST_FILTERS(RequestEvent.Type.REQUEST_MATCHED, RequestEvent.Type.REQUEST_FILTERED),
+        /**
+         * Reading the request entity and invoking the resource method.
+         */
+        RESOURCE_METHOD(RequestEvent.Type.RESOURCE_METHOD_START, RequestEvent.Type.RESOURCE_METHOD_FINISHED),
+        /**
+         * Mapping an exception thrown while processing the request to a response.
+         */
+        EXCEPTION_MAPPING(RequestEvent.Type.ON_EXCEPTION, RequestEvent.Type.EXCEPTION_MAPPING_FINISHED),
+        /**
+         * Response filters.
+         */
+        RESPONSE_FILTERS(RequestEvent.Type.RESP_FILTERS_START, RequestEvent.Type.RESP_FILTERS_FINISHED),
+        /**
+         * Serializing the response entity and writing it to the connection.
+         */
+        RESPONSE_WRITING(RequestEvent.Type.RESP_FILTERS_FINISHED, RequestEvent.Type.FINISHED);
+
+        private final RequestEvent.Type start;
+        private final RequestEvent.Type end;
+
+        Phase(RequestEvent.Type start, RequestEvent.Type end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        RequestEvent.Type getStart() {
+            return start;
+        }
+
+        RequestEvent.Type getEnd() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.logicalbias.dropwizard.testing.extension.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * <p>
+ * Records the timings of the requests served by a test application; registered with its Jersey environment. Requests
+ * are aggregated by resource method (see {@link #getEndpoints()}) for as long as the application runs, which may span
+ * many test classes sharing the application.
+ * </p>
+ * <p>
+ * Requests sent through a {@link TestClient} of the application carry a {@value #REQUEST_ID_HEADER} header tying the
+ * recorded timings to the {@link RequestBuilder} which sent them (see {@link RequestBuilder#getTiming()}). A request
+ * which is not served by Jersey (e.g. by a servlet or the admin context) is never timed; it is discarded
+ * {@value RequestBuilder#TIMING_TIMEOUT_SECONDS} seconds after its response was received.
+ * </p>
+ */
+public class RequestTimings implements ApplicationEventListener {
+
+    public static final String REQUEST_ID_HEADER = "X-Dropwizard-Test-Request-Id";
+    static final String UNMATCHED_PATH = "(unmatched)";
+
+    // Requests sent by a RequestBuilder whose timings have not been recorded yet
+    private final Map<String, CompletableFuture<RequestTiming>> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, EndpointTiming> endpoints = new ConcurrentHashMap<>();
+    private final Consumer<RequestTiming> listener;
+
+    public RequestTimings() {
+        this(requestTiming -> {
+        });
+    }
+
+    /**
+     * Creates the timings of an application which also passes the timing of every request to the given listener as soon
+     * as it was recorded.
+     */
+    public RequestTimings(Consumer<RequestTiming> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the timings of every resource method requested so far, the slowest (by mean) first.
+     */
+    public List<EndpointTiming> getEndpoints() {
+        return endpoints.values().stream()
+                .sorted(Comparator.comparing((EndpointTiming endpoint) -> endpoint.getMean()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the timings of the given number of slowest (by mean) resource methods requested so far.
+     */
+    public List<EndpointTiming> getSlowestEndpoints(int limit) {
+        return getEndpoints().stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registers a request about to be sent and returns the id to send it with; the given future is completed with its
+     * timing once the application has written the response.
+     */
+    String expect(CompletableFuture<RequestTiming> timing) {
+        var requestId = UUID.randomUUID().toString();
+        pendingRequests.put(requestId, timing);
+        timing.whenComplete((requestTiming, e) -> pendingRequests.remove(requestId));
+        return requestId;
+    }
+
+    /**
+     * Marks the response of a request as received; its timing is expected within {@value RequestBuilder#TIMING_TIMEOUT_SECONDS}
+     * seconds, after which its future fails with a {@link java.util.concurrent.TimeoutException} and the request is
+     * discarded.
+     */
+    void received(String requestId) {
+        var pendingRequest = pendingRequests.get(requestId);
+        if (pendingRequest != null) {
+            pendingRequest.orTimeout(RequestBuilder.TIMING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Discards a request whose timing will never be recorded as it failed to be sent.
+     */
+    void forget(String requestId) {
+        pendingRequests.remove(requestId);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // Only requests are timed
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return new RequestRecorder(System.nanoTime());
+    }
+
+    private void record(String requestId, RequestTiming requestTiming) {
+        endpoints.merge(requestTiming.getMethod() + " " + requestTiming.getPath(), EndpointTiming.of(requestTiming), EndpointTiming::plus);
+        listener.accept(requestTiming);
+
+        var pendingRequest = requestId == null ? null : pendingRequests.remove(requestId);
+        if (pendingRequest != null) {
+            pendingRequest.complete(requestTiming);
+        }
+    }
+
+    /**
+     * Records when each request event first occurred; a request's events are delivered one at a time.
+     */
+    private class RequestRecorder implements RequestEventListener {
+
+        private final Map<RequestEvent.Type, Long> events = new EnumMap<>(RequestEvent.Type.class);
+
+        // The START event is only passed to onRequest
+        RequestRecorder(long started) {
+            events.put(RequestEvent.Type.START, started);
+        }
+
+        @Override
+        public void onEvent(RequestEvent event) {
+            events.putIfAbsent(event.getType(), System.nanoTime());
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+
+            var phases = new EnumMap<RequestTiming.Phase, Duration>(RequestTiming.Phase.class);
+            for (var phase : RequestTiming.Phase.values()) {
+                var started = events.get(phase.getStart());
+                var ended = events.get(phase.getEnd());
+                if (started != null && ended != null) {
+                    phases.put(phase, Duration.ofNanos(ended - started));
+                }
+            }
+
+            var request = event.getContainerRequest();
+            var response = event.getContainerResponse();
+            var timing = new RequestTiming(request.getMethod(), getPath(event), response == null ? 500 : response.getStatus(),
+                    Duration.ofNanos(events.get(RequestEvent.Type.FINISHED) - events.get(RequestEvent.Type.START)),
+                    Collections.unmodifiableMap(phases), null);
+
+            record(request.getHeaderString(REQUEST_ID_HEADER), timing);
+        }
+
+        private String getPath(RequestEvent event) {
+            if (event.getUriInfo().getMatchedResourceMethod() == null) {
+                return UNMATCHED_PATH;
+            }
+
+            // Matched templates are listed from the resource method up to the root resource
+            var templates = new ArrayList<String>();
+            event.getUriInfo().getMatchedTemplates().forEach(template -> templates.add(0, template.getTemplate()));
+
+            var path = String.join("/", templates).replaceAll("/{2,}", "/");
+            return path.startsWith("/") ? path : "/" + path;
+        }
+    }
+}
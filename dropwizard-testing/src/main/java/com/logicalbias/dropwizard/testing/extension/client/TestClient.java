@@ -7,19 +7,69 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
 
 @Getter
 public class TestClient {
 
+    /**
+     * Executor running async requests unless another one is provided; requests block while in flight, so every
+     * concurrent request is given its own (daemon) thread.
+     */
+    private static final ExecutorService DEFAULT_ASYNC_EXECUTOR = Executors.newCachedThreadPool(new AsyncThreadFactory());
+
     @Getter(AccessLevel.NONE)
     private final MultivaluedMap<String, Object> defaultHeaders = new MultivaluedHashMap<>();
     private final Client client;
+    private final URI baseUri;
     private final int localPort;
+    private final Executor asyncExecutor;
+
+    /**
+     * Timings of the requests served by the application; null unless the client was created for a @DropwizardTest
+     * application.
+     */
+    private final RequestTimings requestTimings;
 
     public TestClient(Client client, int localPort) {
+        this(client, URI.create(String.format("http://localhost:%s/", localPort)));
+    }
+
+    /**
+     * Creates a client resolving every request path against the given base URI (e.g. http://localhost:8080/).
+     */
+    public TestClient(Client client, URI baseUri) {
+        this(client, baseUri, DEFAULT_ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Creates a client resolving every request path against the given base URI and running async requests (see
+     * {@link RequestBuilder#andReturnAsync(Class)}) on the given executor; null runs them on a thread per concurrent
+     * request.
+     */
+    public TestClient(Client client, URI baseUri, Executor asyncExecutor) {
+        this(client, baseUri, asyncExecutor, null);
+    }
+
+    /**
+     * Creates a client whose requests are tied to the timings recorded by the application (see
+     * {@link RequestBuilder#getTiming()}); the given request timings must be registered with the application's Jersey
+     * environment.
+     */
+    public TestClient(Client client, URI baseUri, Executor asyncExecutor, RequestTimings requestTimings) {
         this.client = client;
-        this.localPort = localPort;
+        this.baseUri = baseUri;
+        this.localPort = baseUri.getPort();
+        this.asyncExecutor = asyncExecutor != null ? asyncExecutor : DEFAULT_ASYNC_EXECUTOR;
+        this.requestTimings = requestTimings;
     }
 
     /**
@@ -62,7 +112,7 @@ public class TestClient {
 
     private RequestBuilder request(RequestBuilder.HttpMethod method, String path, Object... args) {
         var url = resolveUrl(path, args);
-        return new RequestBuilder(client, method, url)
+        return new RequestBuilder(client, asyncExecutor, method, url, requestTimings)
                 .headers(defaultHeaders);
     }
 
@@ -76,7 +126,18 @@ public class TestClient {
             url = url.replaceFirst("\\{.*?}", String.valueOf(arg));
         }
 
-        return String.format("http://localhost:%s/%s", localPort, url);
+        return StringUtils.appendIfMissing(baseUri.toString(), "/") + url;
+    }
+
+    private static class AsyncThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadIds = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "dropwizard-test-client-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
 }
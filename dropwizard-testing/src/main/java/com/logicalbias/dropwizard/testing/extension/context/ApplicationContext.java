@@ -0,0 +1,366 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.core.Application;
+import io.dropwizard.core.Configuration;
+import io.dropwizard.jersey.jackson.JacksonFeature;
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import jakarta.ws.rs.client.Client;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.DescriptorType;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.servlet.ServletContainer;
+
+import com.logicalbias.dropwizard.testing.extension.client.RequestTimings;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+
+import static com.logicalbias.dropwizard.testing.extension.utils.TestHelpers.buildClassInheritanceTree;
+
+/**
+ * A running (or about to be started) dropwizard test application along with the mock proxies, imports and
+ * dependencies that were bound into its HK2 context. A single application context may be shared by many test classes.
+ */
+@Slf4j
+@Getter(AccessLevel.PACKAGE)
+class ApplicationContext {
+
+    private final ContextKey key;
+    private final MockProxyContext mockProxyContext;
+    private final ImportContext importContext;
+    private final DependencyContext dependencyContext;
+    private final DropwizardAppExtension<?> appExtension;
+
+    private final StartupRecorder startupRecorder = new StartupRecorder();
+    private StartupReport startupReport;
+    private final RequestTimings requestTimings;
+
+    // Only present while service creation is profiled; see ContextCache#PROFILED_SERVICES_PROPERTY_NAME
+    private final ServiceProfiler serviceProfiler;
+    @Getter(AccessLevel.NONE)
+    private final int profiledServices;
+
+    // Resolutions are only valid for the HK2 context of this application; they are discarded along with it
+    @Getter(AccessLevel.NONE)
+    private final Map<BeanKey, ActiveDescriptor<?>> beanDescriptors = new ConcurrentHashMap<>();
+
+    // Socket the application connector of UNIX_SOCKET applications is bound to
+    @Getter(AccessLevel.NONE)
+    private final Path socketPath;
+
+    // Client for IN_MEMORY and UNIX_SOCKET applications, which cannot be reached through the DropwizardAppExtension client
+    @Getter(AccessLevel.NONE)
+    private Client connectorClient;
+
+    // Report of the test session whose cache holds this application, if one is written; see ContextCache#getSuiteReport
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    private volatile Supplier<SuiteReport> suiteReport = () -> null;
+
+    @Getter(AccessLevel.NONE)
+    private int users;
+    @Getter(AccessLevel.NONE)
+    private boolean started;
+
+    ApplicationContext(ContextKey key, ImportContext importContext, DependencyContext dependencyContext, int profiledServices) {
+        this.key = key;
+        this.mockProxyContext = new MockProxyContext(key.mockDefinitions(), this::getServiceLocator);
+        this.importContext = importContext;
+        this.dependencyContext = dependencyContext;
+        // Requests are reported to the session using the application as they are served
+        this.requestTimings = new RequestTimings(requestTiming -> report(suiteReport -> suiteReport.recordRequest(key, requestTiming)));
+        this.serviceProfiler = profiledServices > 0 ? new ServiceProfiler() : null;
+        this.profiledServices = profiledServices;
+        this.socketPath = key.webEnvironment() == DropwizardTest.WebEnvironment.UNIX_SOCKET ? createSocketPath() : null;
+        this.appExtension = createDropwizardAppExtension(key, socketPath, startupRecorder)
+                .addListener(new TestServiceListener<>(this));
+    }
+
+    private void report(Consumer<SuiteReport> recording) {
+        var suiteReport = this.suiteReport.get();
+        if (suiteReport != null) {
+            recording.accept(suiteReport);
+        }
+    }
+
+    /**
+     * Instances registered through {@link ExtensionHooks} belong to the lifecycle of the extension which registered
+     * them (and are typically shut down alongside the test class); applications holding them are never reused.
+     */
+    boolean isCacheable() {
+        return dependencyContext.isEmpty();
+    }
+
+    synchronized void start() throws Exception {
+        if (!started) {
+            startupRecorder.begin();
+            appExtension.before();
+            startupReport = startupRecorder.finish(key.applicationClass());
+            log.info("@DropwizardTest application {}.", startupReport);
+            report(suiteReport -> suiteReport.recordBoot(key, startupReport));
+
+            if (serviceProfiler != null) {
+                log.info("Slowest services created during the startup of {}:{}", key.applicationClass().getSimpleName(),
+                        serviceProfiler.describeSlowest(profiledServices, getServiceLocator()));
+                serviceProfiler.reset();
+            }
+            started = true;
+        }
+    }
+
+    synchronized void close() {
+        if (started) {
+            started = false;
+            if (serviceProfiler != null) {
+                // The dependencies of the services are resolved by the application, which must still be running
+                log.info("Slowest services created by {} after startup (e.g. on first requests):{}",
+                        key.applicationClass().getSimpleName(), serviceProfiler.describeSlowest(profiledServices, getServiceLocator()));
+            }
+
+            var stopping = System.nanoTime();
+            if (connectorClient != null) {
+                connectorClient.close();
+                connectorClient = null;
+            }
+            appExtension.after();
+            var teardownNanos = System.nanoTime() - stopping;
+            report(suiteReport -> suiteReport.recordTeardown(key, teardownNanos));
+        }
+
+        if (socketPath != null) {
+            deleteSocketPath();
+        }
+    }
+
+    /**
+     * Creates a {@link TestClient} sending requests to this (started) application.
+     */
+    TestClient createTestClient() {
+        if (key.webEnvironment() == DropwizardTest.WebEnvironment.NONE) {
+            throw new IllegalStateException("A TestClient is not available for applications using the NONE web environment; "
+                    + "use IN_MEMORY (or RANDOM) to send requests to the application.");
+        }
+
+        if (key.webEnvironment() == DropwizardTest.WebEnvironment.IN_MEMORY) {
+            return new TestClient(getConnectorClient(() -> new InMemoryConnectorProvider(getJerseyBaseUri(), getApplicationHandler())),
+                    URI.create("http://localhost/"), getAsyncExecutor(), requestTimings);
+        }
+
+        if (key.webEnvironment() == DropwizardTest.WebEnvironment.UNIX_SOCKET) {
+            return new TestClient(getConnectorClient(() -> new UnixSocketConnectorProvider(socketPath)), URI.create("http://localhost/"),
+                    getAsyncExecutor(), requestTimings);
+        }
+
+        return new TestClient(appExtension.client(), URI.create(String.format("http://localhost:%s/", appExtension.getLocalPort())),
+                getAsyncExecutor(), requestTimings);
+    }
+
+    /**
+     * Applications serving requests on virtual threads get a TestClient issuing its async requests on virtual threads
+     * as well, so a test can drive as many concurrent requests as the application is able to accept. Returns null (the
+     * default executor of the TestClient) otherwise.
+     */
+    private Executor getAsyncExecutor() {
+        var threadPool = appExtension.getEnvironment().getApplicationContext().getServer().getThreadPool();
+        return VirtualThreads.isUseVirtualThreads(threadPool) ? VirtualThreads.getDefaultVirtualThreadsExecutor() : null;
+    }
+
+    private synchronized Client getConnectorClient(Supplier<ConnectorProvider> connectorProvider) {
+        if (connectorClient == null) {
+            var clientConfig = new ClientConfig()
+                    .connectorProvider(connectorProvider.get())
+                    .register(new JacksonFeature(appExtension.getObjectMapper()));
+            connectorClient = new JerseyClientBuilder().withConfig(clientConfig).build();
+        }
+        return connectorClient;
+    }
+
+    private URI getJerseyBaseUri() {
+        // The Jersey application is served beneath the application context path and the Jersey url pattern
+        var environment = appExtension.getEnvironment();
+        var contextPath = StringUtils.removeEnd(environment.getApplicationContext().getContextPath(), "/");
+        var rootPath = StringUtils.removeEnd(environment.jersey().getUrlPattern(), "*");
+        return URI.create("http://localhost" + contextPath + StringUtils.prependIfMissing(rootPath, "/"));
+    }
+
+    private static Path createSocketPath() {
+        // Socket paths are limited to ~100 characters; keep them short and private to this application
+        try {
+            return Files.createTempDirectory("dw-test-").resolve("app.sock");
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to create a directory for the application socket.", e);
+        }
+    }
+
+    private void deleteSocketPath() {
+        try {
+            Files.deleteIfExists(socketPath);
+            Files.deleteIfExists(socketPath.getParent());
+        }
+        catch (IOException e) {
+            log.warn("Failed to delete application socket {}.", socketPath, e);
+        }
+    }
+
+    // User counts are guarded by the ContextCache lock
+    void incrementUsers() {
+        users++;
+    }
+
+    int decrementUsers() {
+        return --users;
+    }
+
+    boolean isInUse() {
+        return users > 0;
+    }
+
+    ServiceLocator getServiceLocator() {
+        var context = getApplicationHandler().getInjectionManager();
+        return context.getInstance(ServiceLocator.class);
+    }
+
+    private ApplicationHandler getApplicationHandler() {
+        var environment = appExtension.getEnvironment();
+        if (environment.getJerseyServletContainer() instanceof ServletContainer) {
+            var container = (ServletContainer) environment.getJerseyServletContainer();
+            return container.getApplicationHandler();
+        }
+
+        throw new IllegalStateException("Servlet container is not of type " + ServletContainer.class.getName());
+    }
+
+    /**
+     * Retrieves the primary bean for the specified type (and optional name) from the HK2 context. The resolved service
+     * descriptor is memoized once found; the instance itself is still provided by the HK2 context according to its
+     * scope.
+     */
+    Object findBean(Class<?> rawType, Type parameterizedType, String beanName) {
+        var descriptor = findBeanDescriptor(new BeanKey(rawType, parameterizedType, beanName));
+        return descriptor == null ? null : getServiceLocator().getServiceHandle(descriptor).getService();
+    }
+
+    /**
+     * Returns whether a bean is bound for the specified type (and optional name) without providing it.
+     */
+    boolean hasBean(Class<?> rawType, Type parameterizedType, String beanName) {
+        return findBeanDescriptor(new BeanKey(rawType, parameterizedType, beanName)) != null;
+    }
+
+    private ActiveDescriptor<?> findBeanDescriptor(BeanKey beanKey) {
+        // Misses are not memoized; the bean may still be bound later on (e.g. by a just-in-time resolver)
+        var descriptor = beanDescriptors.get(beanKey);
+        if (descriptor == null) {
+            descriptor = findBeanDescriptor(getServiceLocator(), beanKey);
+            if (descriptor != null) {
+                beanDescriptors.put(beanKey, descriptor);
+            }
+        }
+        return descriptor;
+    }
+
+    private static ActiveDescriptor<?> findBeanDescriptor(ServiceLocator serviceLocator, BeanKey beanKey) {
+        var serviceHandle = serviceLocator.getServiceHandle(beanKey.type, beanKey.name);
+        if (serviceHandle != null) {
+            return serviceHandle.getActiveDescriptor();
+        }
+
+        // If no type was registered against this specific type, we're going to do something dropwizard doesn't do.
+        // Scan up from the type and look at every implementation bound to a superclass or interface; an exact
+        // implementation class match wins over any other implementation assignable to the requested type.
+        // No candidate is created to find out what it provides; only the selected bean is
+        List<ActiveDescriptor<?>> candidates = buildClassInheritanceTree(beanKey.rawType).stream()
+                .flatMap(type -> serviceLocator.getAllServiceHandles(type).stream())
+                .<ActiveDescriptor<?>>map(ServiceHandle::getActiveDescriptor)
+                .filter(descriptor -> beanKey.name == null || beanKey.name.equals(descriptor.getName()))
+                .filter(descriptor -> provides(descriptor, beanKey.rawType))
+                .collect(Collectors.toList());
+
+        return candidates.stream()
+                .filter(descriptor -> getProvidedClass(descriptor) == beanKey.rawType)
+                .findFirst()
+                .or(() -> candidates.stream().findFirst())
+                .orElse(null);
+    }
+
+    private static boolean provides(ActiveDescriptor<?> descriptor, Class<?> rawType) {
+        var advertisesType = descriptor.getContractTypes().stream()
+                .map(ReflectionHelper::getRawClass)
+                .anyMatch(contract -> contract != null && rawType.isAssignableFrom(contract));
+
+        return advertisesType || rawType.isAssignableFrom(getProvidedClass(descriptor));
+    }
+
+    /**
+     * Returns the class of the instances provided for a service without providing one. The implementation class of a
+     * factory-provided service is its factory, so the return type of the factory's provide method is used; a factory
+     * declaring a more specific return type than its contract can therefore be resolved by that type. Mock proxies are
+     * not provided by a factory method (they are created lazily and never implement more than their contract).
+     */
+    private static Class<?> getProvidedClass(ActiveDescriptor<?> descriptor) {
+        if (descriptor.getDescriptorType() == DescriptorType.CLASS
+                || descriptor.getMetadata().containsKey(MockProxyContext.PROXY_METADATA_KEY)) {
+            return descriptor.getImplementationClass();
+        }
+
+        try {
+            // The most specific return type is found when the factory overrides provide() covariantly
+            return descriptor.getImplementationClass().getMethod("provide").getReturnType();
+        }
+        catch (NoSuchMethodException e) {
+            return Void.class;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C extends Configuration> DropwizardAppExtension<C> createDropwizardAppExtension(ContextKey key, Path socketPath,
+            StartupRecorder startupRecorder) {
+        var applicationClass = (Class<? extends Application<C>>) key.applicationClass();
+        var configFile = key.configFile();
+        log.info("Initializing @DropwizardTest application context [configFile={}].", configFile);
+
+        // Overrides are applied in memory by the TestServerCommand (which also binds the connectors the web environment
+        // requires); no System properties are involved
+        var configOverrides = new LinkedHashMap<>(key.properties());
+
+        return new DropwizardAppExtension<>(applicationClass, configFile, (String) null,
+                application -> new TestServerCommand<>(application, configOverrides, key.webEnvironment(), socketPath, startupRecorder));
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class BeanKey {
+        private final Class<?> rawType;
+        private final Type type;
+        private final String name;
+    }
+}
@@ -0,0 +1,594 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * <p>
+ * Cache of the running test applications of a test session. Applications are keyed by their {@link ContextKey} so that
+ * every test class declaring an equivalent configuration shares a single application boot. As mocks are bound through
+ * swappable proxies, an application also serves test classes which mock only a subset of its mocked contracts. Cached
+ * applications are shut down when the junit root context is closed at the end of the test session.
+ * </p>
+ * <p>
+ * Every session (identified by its junit root context) has a cache of its own which is configured once, when the
+ * session starts. Sessions may be nested, e.g. by a test executing other test classes through its own launcher; a
+ * nested session neither shares nor shuts down the applications of the session running it. Launcher listeners open
+ * the cache of the test plan they observe (see {@link #open(TestPlan)}) which is then taken over by the session
+ * executing that plan.
+ * </p>
+ * <p>
+ * The cache holds at most {@value #MAX_SIZE_PROPERTY_NAME} applications (default {@value #DEFAULT_MAX_SIZE}); the
+ * least recently used idle application is shut down to make room for a new one; while every cached application is in
+ * use the cache grows beyond its maximum size. Optionally, while the used heap exceeds the
+ * {@value #MAX_HEAP_USAGE_PROPERTY_NAME} ratio of the maximum heap, the least recently used idle application is also
+ * shut down whenever a new one is started. Both values are read from the junit configuration parameters.
+ * </p>
+ * <p>
+ * Applications bound to fixed ports cannot run side by side; any idle fixed port application is shut down before
+ * another fixed port application is started.
+ * </p>
+ * <p>
+ * When junit parallel execution is enabled the cache runs in concurrent mode: an application (and therefore its mocks)
+ * is only ever leased to a single test class at a time and every application is started on random ports.
+ * </p>
+ * <p>
+ * Applications are shut down in the background by up to {@value #TEARDOWN_THREADS_PROPERTY_NAME} threads (default
+ * {@value #DEFAULT_TEARDOWN_THREADS}) so the next test class does not wait on Jetty's graceful shutdown or the stopping
+ * of managed objects. Once {@value #TEARDOWN_QUEUE_SIZE_PROPERTY_NAME} shutdowns are queued, the caller shuts down the
+ * application itself. Fixed port applications (their ports are needed by the next one), applications evicted as the heap
+ * usage is exceeded (their heap is needed by the next one) and applications holding instances registered by other
+ * extensions are always shut down synchronously. Every pending shutdown completes before the test session ends.
+ * </p>
+ * <p>
+ * Setting {@value #PROFILED_SERVICES_PROPERTY_NAME} profiles the creation of the HK2 services and Jersey components of
+ * every application started during the session (see {@link ServiceProfiler}); the given number of slowest services is
+ * logged once the application has started and again, for the services created while serving the tests, at shutdown.
+ * </p>
+ */
+@Slf4j
+class ContextCache {
+
+    static final String MAX_SIZE_PROPERTY_NAME = "dropwizard.test.context.cache.maxSize";
+    static final String MAX_HEAP_USAGE_PROPERTY_NAME = "dropwizard.test.context.cache.maxHeapUsage";
+    static final String PARALLEL_ENABLED_PROPERTY_NAME = "junit.jupiter.execution.parallel.enabled";
+    static final String TEARDOWN_THREADS_PROPERTY_NAME = "dropwizard.test.context.teardown.threads";
+    static final String TEARDOWN_QUEUE_SIZE_PROPERTY_NAME = "dropwizard.test.context.teardown.queueSize";
+    static final String ZERO_GRACE_PERIOD_PROPERTY_NAME = "dropwizard.test.context.teardown.zeroGracePeriod";
+    static final String PROFILED_SERVICES_PROPERTY_NAME = "dropwizard.test.context.profile.services";
+    static final int DEFAULT_MAX_SIZE = 8;
+    static final int DEFAULT_TEARDOWN_THREADS = 2;
+    static final int DEFAULT_TEARDOWN_QUEUE_SIZE = 8;
+
+    private static final Namespace NAMESPACE = Namespace.create(ContextCache.class);
+
+    // Caches opened by launcher listeners for the test plans being executed, innermost last; guarded by the class lock
+    private static final Deque<LauncherSession> LAUNCHER_SESSIONS = new ArrayDeque<>();
+
+    // Access ordered; iteration starts with the least recently used application
+    private final Map<ContextKey, ApplicationContext> contexts = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Settings settings;
+    private final DoubleSupplier heapUsage;
+    private final ThreadPoolExecutor teardownExecutor;
+    // Completed teardowns remove themselves without taking the cache lock (which may be held while awaiting them)
+    private final Set<CompletableFuture<Void>> pendingTeardowns = ConcurrentHashMap.newKeySet();
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    // Report of the test session using this cache, while one is written; see SuiteReportListener
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private volatile SuiteReport suiteReport;
+
+    ContextCache(Settings settings) {
+        this(settings, ContextCache::getHeapUsage);
+    }
+
+    ContextCache(Settings settings, DoubleSupplier heapUsage) {
+        this.settings = settings;
+        this.heapUsage = heapUsage;
+
+        if (settings.teardownThreads > 0) {
+            teardownExecutor = new ThreadPoolExecutor(settings.teardownThreads, settings.teardownThreads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(settings.teardownQueueSize), new TeardownThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+            teardownExecutor.allowCoreThreadTimeOut(true);
+        }
+        else {
+            teardownExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the cache of the test session the given context belongs to; the cache is configured once from the
+     * configuration parameters of the session and shuts down its applications when the session ends.
+     */
+    static ContextCache from(ExtensionContext context) {
+        // Registering against the root store ties the lifetime of cached applications to the test session
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(EngineSession.class, k -> openEngineSession(new Settings(context::getConfigurationParameter)),
+                        EngineSession.class)
+                .contextCache;
+    }
+
+    /**
+     * Opens the cache of a test plan for a launcher listener, before the session executing the plan has started. The
+     * session takes the cache over once its first test class requires an application. Every call must be paired
+     * with {@link #close(TestPlan)}; listeners observing the same test plan share its cache.
+     */
+    static synchronized ContextCache open(TestPlan testPlan) {
+        for (var launcherSession : LAUNCHER_SESSIONS) {
+            if (launcherSession.testPlan == testPlan) {
+                launcherSession.listeners++;
+                return launcherSession.contextCache;
+            }
+        }
+
+        var launcherSession = new LauncherSession(testPlan, new ContextCache(new Settings(testPlan.getConfigurationParameters()::get)));
+        LAUNCHER_SESSIONS.addLast(launcherSession);
+        return launcherSession.contextCache;
+    }
+
+    /**
+     * Releases the cache of a test plan opened through {@link #open(TestPlan)}; once the last listener has released it,
+     * any application still held (e.g. started for a test class which never ran) is shut down.
+     */
+    static void close(TestPlan testPlan) {
+        LauncherSession closed = null;
+        synchronized (ContextCache.class) {
+            for (var launcherSession : LAUNCHER_SESSIONS) {
+                if (launcherSession.testPlan == testPlan && --launcherSession.listeners == 0) {
+                    LAUNCHER_SESSIONS.remove(launcherSession);
+                    closed = launcherSession;
+                    break;
+                }
+            }
+        }
+
+        if (closed != null) {
+            closed.contextCache.close();
+        }
+    }
+
+    private static synchronized EngineSession openEngineSession(Settings settings) {
+        // A nested session is started while the launcher of the enclosing one is still executing its test plan; only
+        // the innermost plan can belong to the new session and only if it was configured alike
+        var launcherSession = LAUNCHER_SESSIONS.peekLast();
+        if (launcherSession != null && !launcherSession.claimed && launcherSession.contextCache.settings.equals(settings)) {
+            launcherSession.claimed = true;
+            return new EngineSession(launcherSession.contextCache, launcherSession);
+        }
+
+        return new EngineSession(new ContextCache(settings), null);
+    }
+
+    boolean isConcurrent() {
+        return settings.concurrent;
+    }
+
+    /**
+     * Number of slowest services to report for every application started; 0 when service creation is not profiled.
+     */
+    int getProfiledServices() {
+        return settings.profiledServices;
+    }
+
+    /**
+     * Returns a cached application able to serve the given key or creates a new one using the supplied factory.
+     * Every call must be paired with {@link ContextCache#release(ApplicationContext)}.
+     */
+    ApplicationContext acquire(ContextKey key, Function<ContextKey, ApplicationContext> factory) {
+        var heapUsageExceeded = isHeapUsageExceeded();
+        synchronized (this) {
+            return acquire(key, factory, heapUsageExceeded);
+        }
+    }
+
+    private ApplicationContext acquire(ContextKey key, Function<ContextKey, ApplicationContext> factory, boolean heapUsageExceeded) {
+        key = withSessionProperties(key);
+
+        // Mocks are swapped per test class; concurrently running classes must not share an application
+        var applicationContext = findCached(key, settings.concurrent);
+
+        if (applicationContext != null) {
+            hitCount++;
+            log.info("Reusing cached @DropwizardTest application context [configFile={}].", key.configFile());
+        }
+        else {
+            missCount++;
+
+            var contextKey = withCachedMockDefinitions(key);
+            makeRoomFor(contextKey, heapUsageExceeded);
+
+            applicationContext = factory.apply(contextKey);
+            applicationContext.setSuiteReport(this::getSuiteReport);
+            if (applicationContext.isCacheable() && settings.maxSize > 0 && !contexts.containsKey(contextKey)) {
+                contexts.put(contextKey, applicationContext);
+                if (contexts.size() > settings.maxSize) {
+                    log.warn("The @DropwizardTest application context cache holds {} applications (maxSize={}) as every cached application is in use.",
+                            contexts.size(), settings.maxSize);
+                }
+            }
+        }
+
+        applicationContext.incrementUsers();
+        return applicationContext;
+    }
+
+    /**
+     * Adds a new (not yet started) application for the given key unless the key can already be served by the cache or
+     * the cache is full; prewarming never evicts other applications.
+     *
+     * @return the application which was added or null if nothing was added
+     */
+    ApplicationContext prewarm(ContextKey key, Function<ContextKey, ApplicationContext> factory) {
+        if (isHeapUsageExceeded()) {
+            return null;
+        }
+
+        synchronized (this) {
+            return prewarmIfAbsent(key, factory);
+        }
+    }
+
+    private ApplicationContext prewarmIfAbsent(ContextKey key, Function<ContextKey, ApplicationContext> factory) {
+        key = withSessionProperties(key);
+        if (findCached(key, false) != null || contexts.size() >= settings.maxSize) {
+            return null;
+        }
+
+        var contextKey = withCachedMockDefinitions(key);
+        var applicationContext = factory.apply(contextKey);
+        if (!applicationContext.isCacheable()) {
+            return null;
+        }
+
+        applicationContext.setSuiteReport(this::getSuiteReport);
+        contexts.put(contextKey, applicationContext);
+        return applicationContext;
+    }
+
+    /**
+     * Returns true if the given (running) application is able to serve the given key.
+     */
+    synchronized boolean canServe(ApplicationContext applicationContext, ContextKey key) {
+        return applicationContext.getKey().canServe(withSessionProperties(key));
+    }
+
+    /**
+     * Marks the application as no longer being used by a test class. Applications which are not
+     * held by this cache are shut down as soon as their last user releases them.
+     */
+    synchronized void release(ApplicationContext applicationContext) {
+        var users = applicationContext.decrementUsers();
+        if (users > 0) {
+            return;
+        }
+
+        applicationContext.getMockProxyContext().reset();
+        if (contexts.get(applicationContext.getKey()) != applicationContext) {
+            closeInBackground(applicationContext);
+        }
+    }
+
+    /**
+     * Removes an application from the cache; typically because it failed to start.
+     */
+    synchronized void discard(ApplicationContext applicationContext) {
+        contexts.remove(applicationContext.getKey(), applicationContext);
+    }
+
+    /**
+     * Shuts down those of the given applications which are still cached and not used by any test class.
+     */
+    void closeIdle(Collection<ApplicationContext> applicationContexts) {
+        synchronized (this) {
+            for (var applicationContext : applicationContexts) {
+                if (!applicationContext.isInUse() && contexts.remove(applicationContext.getKey(), applicationContext)) {
+                    closeInBackground(applicationContext);
+                }
+            }
+        }
+        awaitTeardown();
+    }
+
+    synchronized Statistics getStatistics() {
+        return new Statistics(contexts.size(), hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Shuts down every cached application and waits for the shutdown of those stopping in the background.
+     */
+    void clear() {
+        synchronized (this) {
+            if (!contexts.isEmpty()) {
+                log.info("Shutting down {} cached @DropwizardTest application context(s); {}.", contexts.size(), getStatistics());
+            }
+
+            var applicationContexts = new ArrayList<>(contexts.values());
+            contexts.clear();
+            applicationContexts.forEach(this::closeInBackground);
+        }
+        awaitTeardown();
+    }
+
+    /**
+     * Shuts down every cached application along with the teardown threads; ends the session of this cache.
+     */
+    void close() {
+        clear();
+        if (teardownExecutor != null) {
+            teardownExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Blocks until every application shut down in the background has stopped.
+     */
+    void awaitTeardown() {
+        var teardowns = List.copyOf(pendingTeardowns);
+        if (!teardowns.isEmpty()) {
+            log.debug("Waiting for {} @DropwizardTest application context(s) to shut down.", teardowns.size());
+            CompletableFuture.allOf(teardowns.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    /**
+     * Finds the most recently used application able to serve the given key.
+     */
+    private ApplicationContext findCached(ContextKey key, boolean idleOnly) {
+        ContextKey cachedKey = null;
+        for (var entry : contexts.entrySet()) {
+            if (entry.getKey().canServe(key) && !(idleOnly && entry.getValue().isInUse())) {
+                cachedKey = entry.getKey();
+            }
+        }
+
+        // Lookup (rather than reading the entry) so the access order is updated
+        return cachedKey != null ? contexts.get(cachedKey) : null;
+    }
+
+    /**
+     * Extends the mock definitions of the given key with those of every cached variant of the same application. The
+     * new application can then serve all of those test classes while the older variants age out of the cache.
+     * Only mocked interfaces are added: the test classes of the given key do not mock them, so their proxies must
+     * behave just like the implementation they fall back to. A proxy of a class would not (e.g. its final methods and
+     * fields are those of the proxy).
+     */
+    private ContextKey withCachedMockDefinitions(ContextKey key) {
+        var mockDefinitions = new LinkedHashSet<>(key.mockDefinitions());
+        contexts.keySet().stream()
+                .filter(key::isSameApplication)
+                .flatMap(cachedKey -> cachedKey.mockDefinitions().stream())
+                .filter(mockDefinition -> mockDefinition.rawType().isInterface())
+                .forEach(mockDefinitions::add);
+
+        return mockDefinitions.size() == key.mockDefinitions().size()
+                ? key
+                : key.withMockDefinitions(List.copyOf(mockDefinitions));
+    }
+
+    /**
+     * Applies the properties every application of this test session is started with. These are part of the key so
+     * that cached applications keep matching the (equally extended) keys of later test classes.
+     */
+    private ContextKey withSessionProperties(ContextKey key) {
+        if (!settings.zeroGracePeriod || "0s".equals(key.properties().get("server.shutdownGracePeriod"))) {
+            return key;
+        }
+
+        var properties = new LinkedHashMap<>(key.properties());
+        properties.put("server.shutdownGracePeriod", "0s");
+        return key.withProperties(properties);
+    }
+
+    private void makeRoomFor(ContextKey key, boolean heapUsageExceeded) {
+        if (key.usesFixedPorts()) {
+            evictIdle(applicationContext -> applicationContext.getKey().usesFixedPorts());
+        }
+
+        evictIdle(applicationContext -> contexts.size() >= settings.maxSize);
+
+        // Heap of a stopped application is only released by a later collection; rather than waiting for it, a single
+        // application is evicted for every one started while the usage is exceeded. It is shut down before the new one
+        // boots so both never hold their heap at the same time.
+        if (heapUsageExceeded) {
+            var evictions = evictionCount;
+            evictIdle(applicationContext -> evictionCount == evictions, ContextCache::closeQuietly);
+        }
+    }
+
+    private void evictIdle(Predicate<ApplicationContext> condition) {
+        evictIdle(condition, this::closeInBackground);
+    }
+
+    /**
+     * Shuts down idle applications, least recently used first, for as long as the given condition holds.
+     */
+    private void evictIdle(Predicate<ApplicationContext> condition, Consumer<ApplicationContext> shutdown) {
+        var iterator = contexts.values().iterator();
+        while (iterator.hasNext()) {
+            var applicationContext = iterator.next();
+            if (!applicationContext.isInUse() && condition.test(applicationContext)) {
+                log.info("Evicting cached @DropwizardTest application context [configFile={}].", applicationContext.getKey().configFile());
+                iterator.remove();
+                evictionCount++;
+                shutdown.accept(applicationContext);
+            }
+        }
+    }
+
+    /**
+     * Samples the heap usage; includes garbage not yet collected (e.g. of applications that were just shut down).
+     */
+    private boolean isHeapUsageExceeded() {
+        return settings.maxHeapUsage < 1.0 && heapUsage.getAsDouble() > settings.maxHeapUsage;
+    }
+
+    private static double getHeapUsage() {
+        var heapUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return heapUsage.getMax() > 0 ? (double) heapUsage.getUsed() / heapUsage.getMax() : 0;
+    }
+
+    /**
+     * Shuts down the application on the teardown executor. Fixed port applications (whose ports the next application
+     * may need) and applications holding instances registered by other extensions (which shut those instances down
+     * alongside the test class) are shut down on the calling thread.
+     */
+    private void closeInBackground(ApplicationContext applicationContext) {
+        if (teardownExecutor == null || applicationContext.getKey().usesFixedPorts() || !applicationContext.isCacheable()) {
+            closeQuietly(applicationContext);
+            return;
+        }
+
+        var teardown = CompletableFuture.runAsync(() -> closeQuietly(applicationContext), teardownExecutor);
+        pendingTeardowns.add(teardown);
+        teardown.whenComplete((result, e) -> pendingTeardowns.remove(teardown));
+    }
+
+    private static void closeQuietly(ApplicationContext applicationContext) {
+        try {
+            applicationContext.close();
+        }
+        catch (Exception e) {
+            log.warn("Failed to shut down @DropwizardTest application context [configFile={}].",
+                    applicationContext.getKey().configFile(), e);
+        }
+    }
+
+    /**
+     * Cache settings of a single test session, read from its configuration parameters.
+     */
+    @EqualsAndHashCode
+    static class Settings {
+        private final int maxSize;
+        private final double maxHeapUsage;
+        private final boolean concurrent;
+        private final int teardownThreads;
+        private final int teardownQueueSize;
+        private final boolean zeroGracePeriod;
+        private final int profiledServices;
+
+        Settings(Function<String, Optional<String>> parameters) {
+            this.maxSize = parameters.apply(MAX_SIZE_PROPERTY_NAME).map(Integer::parseInt)
+                    .orElse(DEFAULT_MAX_SIZE);
+            this.maxHeapUsage = parameters.apply(MAX_HEAP_USAGE_PROPERTY_NAME).map(Double::parseDouble)
+                    .orElse(1.0);
+            this.concurrent = parameters.apply(PARALLEL_ENABLED_PROPERTY_NAME).map(Boolean::parseBoolean)
+                    .orElse(false);
+            this.teardownThreads = parameters.apply(TEARDOWN_THREADS_PROPERTY_NAME).map(Integer::parseInt)
+                    .orElse(DEFAULT_TEARDOWN_THREADS);
+            this.teardownQueueSize = parameters.apply(TEARDOWN_QUEUE_SIZE_PROPERTY_NAME).map(Integer::parseInt)
+                    .orElse(DEFAULT_TEARDOWN_QUEUE_SIZE);
+            this.zeroGracePeriod = parameters.apply(ZERO_GRACE_PERIOD_PROPERTY_NAME).map(Boolean::parseBoolean)
+                    .orElse(false);
+            this.profiledServices = parameters.apply(PROFILED_SERVICES_PROPERTY_NAME).map(Integer::parseInt)
+                    .orElse(0);
+
+            if (maxSize < 0) {
+                throw new IllegalArgumentException(MAX_SIZE_PROPERTY_NAME + " must not be negative: " + maxSize);
+            }
+            if (teardownThreads < 0) {
+                throw new IllegalArgumentException(TEARDOWN_THREADS_PROPERTY_NAME + " must not be negative: " + teardownThreads);
+            }
+            if (teardownQueueSize < 1) {
+                throw new IllegalArgumentException(TEARDOWN_QUEUE_SIZE_PROPERTY_NAME + " must be positive: " + teardownQueueSize);
+            }
+            if (profiledServices < 0) {
+                throw new IllegalArgumentException(PROFILED_SERVICES_PROPERTY_NAME + " must not be negative: " + profiledServices);
+            }
+        }
+
+    }
+
+    /**
+     * The cache of a test session, held by its junit root context; closing the context shuts down the cached applications.
+     * A cache opened by a launcher listener is released again when the session ends, so the listener may shut down what
+     * the session left behind.
+     */
+    @RequiredArgsConstructor
+    private static class EngineSession implements CloseableResource {
+        private final ContextCache contextCache;
+        private final LauncherSession launcherSession;
+
+        @Override
+        public void close() {
+            if (launcherSession == null) {
+                contextCache.close();
+                return;
+            }
+
+            contextCache.clear();
+            synchronized (ContextCache.class) {
+                launcherSession.claimed = false;
+            }
+        }
+    }
+
+    /**
+     * The cache of a test plan opened by launcher listeners; see {@link #open(TestPlan)}.
+     */
+    @RequiredArgsConstructor
+    private static class LauncherSession {
+        private final TestPlan testPlan;
+        private final ContextCache contextCache;
+        private int listeners = 1;
+        private boolean claimed;
+    }
+
+    private static class TeardownThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadIds = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "dropwizard-test-teardown-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    @Getter
+    @ToString
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class Statistics {
+        private final int size;
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+    }
+}
@@ -0,0 +1,129 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.core.Application;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Fingerprint of every input that affects how a test application is booted. Test classes resolving to equal keys
+ * can safely share a single running application.
+ */
+@Getter
+@Accessors(fluent = true)
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+class ContextKey {
+    private final Class<? extends Application<?>> applicationClass;
+    private final String configFile;
+    private final DropwizardTest.WebEnvironment webEnvironment;
+    private final Map<String, String> properties;
+    private final List<MockContext.MockDefinition> mockDefinitions;
+    private final List<ImportContext.ImportDefinition> importDefinitions;
+
+    /**
+     * Mocked contracts are bound as swappable proxies (see {@link MockProxyContext}); an application can therefore serve
+     * any key which differs only by mocking a subset of the contracts this key mocks.
+     */
+    boolean canServe(ContextKey other) {
+        return isSameApplication(other) && mockDefinitions.containsAll(other.mockDefinitions);
+    }
+
+    /**
+     * Returns true if both keys are equal apart from their mock definitions.
+     */
+    boolean isSameApplication(ContextKey other) {
+        return Objects.equals(applicationClass, other.applicationClass)
+                && Objects.equals(configFile, other.configFile)
+                && webEnvironment == other.webEnvironment
+                && Objects.equals(properties, other.properties)
+                && Objects.equals(importDefinitions, other.importDefinitions);
+    }
+
+    ContextKey withMockDefinitions(List<MockContext.MockDefinition> mockDefinitions) {
+        return new ContextKey(applicationClass, configFile, webEnvironment, properties, mockDefinitions, importDefinitions);
+    }
+
+    ContextKey withProperties(Map<String, String> properties) {
+        return new ContextKey(applicationClass, configFile, webEnvironment, properties, mockDefinitions, importDefinitions);
+    }
+
+    /**
+     * Applications started on the ports defined in the configuration file cannot run side by side.
+     */
+    boolean usesFixedPorts() {
+        return webEnvironment == DropwizardTest.WebEnvironment.DEFAULT;
+    }
+
+    /**
+     * Returns a digest of this key which is stable across test runs (unlike {@link #hashCode()}).
+     */
+    String fingerprint() {
+        var fingerprint = new ArrayList<String>();
+        fingerprint.add("application=" + applicationClass.getName());
+        fingerprint.add("configFile=" + configFile);
+        fingerprint.add("webEnvironment=" + webEnvironment);
+        new TreeMap<>(properties).forEach((key, value) -> fingerprint.add("property=" + key + "=" + value));
+        mockDefinitions.forEach(mock -> fingerprint.add("mock=" + mock.type().getTypeName() + "|" + mock.name()));
+        importDefinitions.forEach(importDef -> fingerprint.add("import=" + importDef.type().getName() + "|" + importDef.name()));
+
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("\n", fingerprint).getBytes(StandardCharsets.UTF_8));
+
+            var hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Describes why an application started for this key is unable to serve the other key; empty if it can.
+     */
+    List<String> differencesFrom(ContextKey other) {
+        var differences = new ArrayList<String>();
+        if (!Objects.equals(applicationClass, other.applicationClass)) {
+            differences.add("application");
+        }
+        if (!Objects.equals(configFile, other.configFile)) {
+            differences.add("configFile");
+        }
+        if (webEnvironment != other.webEnvironment) {
+            differences.add("webEnvironment");
+        }
+
+        var propertyNames = new TreeSet<>(properties.keySet());
+        propertyNames.addAll(other.properties.keySet());
+        propertyNames.stream()
+                .filter(name -> !Objects.equals(properties.get(name), other.properties.get(name)))
+                .forEach(name -> differences.add("property " + name));
+
+        other.mockDefinitions.stream()
+                .filter(mock -> !mockDefinitions.contains(mock))
+                .forEach(mock -> differences.add("mock " + mock.type().getTypeName()));
+
+        if (!Objects.equals(importDefinitions, other.importDefinitions)) {
+            differences.add("imports");
+        }
+        return differences;
+    }
+}
@@ -0,0 +1,186 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * <p>
+ * Optional launcher listener which boots the applications required by upcoming test classes in the background while
+ * earlier test classes are still running. The distinct application contexts are collected from the discovered test
+ * plan (in execution order) and, as test classes complete, the next {@value #PREWARM_COUNT_PROPERTY_NAME}
+ * applications are started and placed into the {@link ContextCache}.
+ * </p>
+ * <p>
+ * Only test classes using the RANDOM or IN_MEMORY web environment and no other extensions are prewarmed; other extensions may
+ * provide properties or dependencies at runtime which cannot be predicted from the test plan. The listener is
+ * registered automatically with the junit launcher and is disabled unless the configuration parameter is set.
+ * </p>
+ * <p>
+ * When the test classes were compiled with the dropwizard-testing-processor, the context fingerprints recorded in the
+ * {@link TestContextIndex} are used to group the classes so each distinct application is only resolved once.
+ * </p>
+ */
+@Slf4j
+public class ContextPrewarmListener implements TestExecutionListener {
+
+    static final String PREWARM_COUNT_PROPERTY_NAME = "dropwizard.test.context.prewarm.count";
+
+    private final Deque<ContextKey> upcomingKeys = new ArrayDeque<>();
+    private final Set<Class<?>> testClasses = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final Set<ApplicationContext> prewarmedContexts = ConcurrentHashMap.newKeySet();
+
+    private ContextCache contextCache;
+    private volatile ExecutorService executor;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        var parameters = testPlan.getConfigurationParameters();
+        var prewarmCount = parameters.get(PREWARM_COUNT_PROPERTY_NAME).map(Integer::parseInt).orElse(0);
+        if (prewarmCount <= 0) {
+            return;
+        }
+
+        collectContextKeys(testPlan);
+        if (upcomingKeys.isEmpty()) {
+            return;
+        }
+
+        contextCache = ContextCache.open(testPlan);
+
+        log.info("Prewarming up to {} of {} @DropwizardTest application context(s).", prewarmCount, upcomingKeys.size());
+        executor = Executors.newFixedThreadPool(prewarmCount, new PrewarmThreadFactory());
+        for (int i = 0; i < prewarmCount; i++) {
+            prewarmNext();
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        if (executor == null) {
+            return;
+        }
+
+        // Every completed class frees up a slot for the next upcoming application
+        testIdentifier.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> ((ClassSource) source).getJavaClass())
+                .filter(testClasses::contains)
+                .ifPresent(testClass -> prewarmNext());
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        var executor = this.executor;
+        if (executor != null) {
+            this.executor = null;
+            executor.shutdownNow();
+
+            // Applications prewarmed for classes which never ran are not owned by any test session; the cache may still
+            // be in use by other listeners
+            contextCache.closeIdle(prewarmedContexts);
+            prewarmedContexts.clear();
+            ContextCache.close(testPlan);
+        }
+    }
+
+    private void collectContextKeys(TestPlan testPlan) {
+        var keys = new LinkedHashSet<ContextKey>();
+        var fingerprints = new HashSet<String>();
+        for (var root : testPlan.getRoots()) {
+            for (var testIdentifier : testPlan.getDescendants(root)) {
+                testIdentifier.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(source -> ((ClassSource) source).getJavaClass())
+                        .filter(ContextPrewarmListener::isPrewarmable)
+                        .ifPresent(testClass -> {
+                            testClasses.add(testClass);
+
+                            // Indexed classes sharing a fingerprint share a key; only resolve the first of each group
+                            var fingerprint = TestContextIndex.findFingerprint(testClass);
+                            if (fingerprint.isEmpty() || fingerprints.add(fingerprint.get())) {
+                                keys.add(TestContextManager.createContextKey(testClass, Collections.emptyMap(), new ImportContext(testClass), false));
+                            }
+                        });
+            }
+        }
+
+        upcomingKeys.addAll(keys);
+    }
+
+    private synchronized void prewarmNext() {
+        var executor = this.executor;
+        while (executor != null && !upcomingKeys.isEmpty()) {
+            var key = upcomingKeys.poll();
+            var applicationContext = contextCache.prewarm(key, contextKey ->
+                    new ApplicationContext(contextKey, new ImportContext(contextKey.importDefinitions()), new DependencyContext(),
+                            contextCache.getProfiledServices()));
+
+            // Already cached (e.g. the test class has started running) or no room; try the next one
+            if (applicationContext != null) {
+                prewarmedContexts.add(applicationContext);
+                executor.execute(() -> start(applicationContext));
+                return;
+            }
+        }
+    }
+
+    private void start(ApplicationContext applicationContext) {
+        try {
+            applicationContext.start();
+        }
+        catch (Exception e) {
+            // The test class requiring this application will attempt to start it again and report the failure
+            log.warn("Failed to prewarm @DropwizardTest application context [configFile={}].",
+                    applicationContext.getKey().configFile(), e);
+            contextCache.discard(applicationContext);
+            applicationContext.close();
+        }
+    }
+
+    private static boolean isPrewarmable(Class<?> testClass) {
+        var dropwizardTest = TestClassMetadata.of(testClass).getDropwizardTest();
+        // Applications bound to the configured ports cannot be started alongside the running test class
+        if (dropwizardTest.isEmpty() || dropwizardTest.get().webEnvironment() == DropwizardTest.WebEnvironment.DEFAULT) {
+            return false;
+        }
+
+        var declaresOtherExtensions = AnnotationSupport.findRepeatableAnnotations(testClass, ExtendWith.class).stream()
+                .flatMap(extendWith -> Arrays.stream(extendWith.value()))
+                .anyMatch(extension -> extension != DropwizardTestExtension.class);
+
+        return !declaresOtherExtensions
+                && AnnotationSupport.findAnnotatedFields(testClass, RegisterExtension.class).isEmpty();
+    }
+
+    private static class PrewarmThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadIds = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "dropwizard-test-prewarm-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -6,18 +6,22 @@ import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 
-import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Consumer;
 
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 class DependencyContext {
-    private final Set<DependencyInfo<?>> dependencies = new LinkedHashSet<>();
+    private final Set<DependencyInfo<?>> dependencies = new CopyOnWriteArraySet<>();
 
     <T> void add(Class<T> classType, String name, T instance) {
         dependencies.add(new DependencyInfo<>(classType, name, instance));
     }
 
+    boolean isEmpty() {
+        return dependencies.isEmpty();
+    }
+
     void forEach(Consumer<DependencyInfo<?>> action) {
         dependencies.forEach(action);
     }
@@ -45,16 +45,47 @@ public @interface DropwizardTest {
 
     WebEnvironment webEnvironment() default WebEnvironment.DEFAULT;
 
+    /**
+     * Set to true to run the application's requests on virtual threads (dropwizard's
+     * {@code server.enableVirtualThreads}) and to run {@link com.logicalbias.dropwizard.testing.extension.client.TestClient}
+     * async requests on virtual threads. Requires a Java 21+ runtime. Defaults to false.
+     */
+    boolean virtualThreads() default false;
+
     enum WebEnvironment {
         /**
-         * Starts the dropwizard test application running on the configured port.
+         * Starts the dropwizard test application running on the configured port. When junit parallel execution is
+         * enabled, this behaves like {@link WebEnvironment#RANDOM} so concurrently running applications do not clash.
          */
         DEFAULT,
 
         /**
          * Starts the dropwizard test application running on a random port.
          */
-        RANDOM
+        RANDOM,
+
+        /**
+         * Starts the dropwizard test application without any connectors (no ports are bound). The {@link
+         * com.logicalbias.dropwizard.testing.extension.client.TestClient} invokes the Jersey application directly in
+         * memory; servlet filters, the admin interface and servlet specific injections (e.g. HttpServletRequest) are
+         * therefore not available.
+         */
+        IN_MEMORY,
+
+        /**
+         * Starts the dropwizard test application with its application connector bound to a Unix domain socket rather
+         * than a TCP port; the {@link com.logicalbias.dropwizard.testing.extension.client.TestClient} talks to it over
+         * that socket. Requests still pass through Jetty and the servlet container, but no ephemeral ports are used
+         * (avoiding TIME_WAIT exhaustion on busy hosts). The admin connector is started on a random port.
+         */
+        UNIX_SOCKET,
+
+        /**
+         * Runs the dropwizard test application (including its Jersey/HK2 context) without any connectors, for tests
+         * which only use the application's services. The {@link com.logicalbias.dropwizard.testing.extension.client.TestClient}
+         * is not available.
+         */
+        NONE
     }
 
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Type;
 
+import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
@@ -12,13 +13,16 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestInstanceFactoryContext;
 import org.junit.jupiter.api.extension.TestInstancePostProcessor;
+import org.junit.jupiter.api.extension.TestInstancePreConstructCallback;
 
 import com.logicalbias.dropwizard.testing.extension.client.TestClient;
 
 @Slf4j
 class DropwizardTestExtension implements
         ParameterResolver,
+        TestInstancePreConstructCallback,
         TestInstancePostProcessor,
         BeforeEachCallback,
         AfterEachCallback,
@@ -26,6 +30,17 @@ class DropwizardTestExtension implements
 
     static final Namespace NAMESPACE = Namespace.create(DropwizardTestExtension.class);
 
+    @Override
+    public void preConstructTestInstance(TestInstanceFactoryContext factoryContext, ExtensionContext context) {
+        // With the default lifecycle all beforeAll callbacks have run by now; begin booting the application so it
+        // overlaps with test instance construction and the remaining extension callbacks. PER_CLASS instances are
+        // constructed before beforeAll, so those applications are still started on first use.
+        var lifecycle = context.getTestInstanceLifecycle().orElse(TestInstance.Lifecycle.PER_METHOD);
+        if (lifecycle == TestInstance.Lifecycle.PER_METHOD) {
+            testContextManager(context).startAsync();
+        }
+    }
+
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext context) {
         testContextManager(context).afterConstructor(testInstance);
@@ -51,14 +66,14 @@ class DropwizardTestExtension implements
         var testContext = testContextManager(extensionContext);
         var rawType = parameterContext.getParameter().getType();
 
-        if (rawType == TestClient.class) {
+        if (rawType == TestClient.class || rawType == StartupReport.class) {
             return true;
         }
 
         var parameterizedType = parameterContext.getParameter().getParameterizedType();
         var beanName = parameterContext.findAnnotation(Named.class).map(Named::value).orElse(null);
 
-        return testContext.getBean(rawType, parameterizedType, beanName) != null;
+        return testContext.hasBean(rawType, parameterizedType, beanName);
     }
 
     @Override
@@ -70,6 +85,10 @@ class DropwizardTestExtension implements
             return getTestClient(extensionContext);
         }
 
+        if (rawType == StartupReport.class) {
+            return testContext.getStartupReport();
+        }
+
         var parameterizedType = getParameterizedType(parameterContext);
         var beanName = parameterContext.findAnnotation(Named.class).map(Named::value).orElse(null);
 
@@ -78,13 +97,8 @@ class DropwizardTestExtension implements
 
     private static TestClient getTestClient(ExtensionContext context) {
         var testContext = testContextManager(context);
-        var appExtension = testContext.getAppExtension();
         return getStore(context)
-                .getOrComputeIfAbsent(TestClient.class, key -> {
-                    var client = appExtension.client();
-                    var port = appExtension.getLocalPort();
-                    return new TestClient(client, port);
-                }, TestClient.class);
+                .getOrComputeIfAbsent(TestClient.class, key -> testContext.createTestClient(), TestClient.class);
     }
 
     private static TestContextManager testContextManager(ExtensionContext context) {
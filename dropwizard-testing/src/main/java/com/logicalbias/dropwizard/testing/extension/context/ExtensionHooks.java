@@ -13,13 +13,18 @@ import org.junit.jupiter.api.extension.ExtensionContext;
  * </ul>
  *
  * <pre>
- *     // This should be executed as soon as possible in the extension (prior to the test constructor)
+ *     // This should be executed as soon as possible in the extension (no later than the beforeAll callback)
  *     ExtensionHooks.from(extensionContext)
  *        .register(SomeClass.class, someClassInstance)
  *        .register(AnotherClass.class, anotherClassInstance);
  * </pre>
  *
  * <p>
+ * The test application begins starting in the background once all beforeAll callbacks have completed; anything
+ * registered after that point may not be applied to the application.
+ * </p>
+ *
+ * <p>
  * NOTE: If the extension implements the ParameterResolver callback, then it should also avoid resolving any parameters if
  * the context is active for any dependencies it has registered with this class.
  * </p>
@@ -45,7 +50,7 @@ public interface ExtensionHooks {
             @Override
             public <T> ExtensionHooks register(Class<T> classType, String name, T object) {
                 if (testContext != null) {
-                    testContext.getDependencyContext().add(classType, name, object);
+                    testContext.registerDependency(classType, name, object);
                 }
 
                 return this;
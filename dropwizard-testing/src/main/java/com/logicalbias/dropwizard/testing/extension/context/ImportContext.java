@@ -19,20 +19,31 @@ import com.logicalbias.dropwizard.testing.extension.annotation.Import;
 
 class ImportContext {
 
-    private final List<ImportDefinition> imports = new ArrayList<>();
+    private final List<ImportDefinition> imports;
 
     ImportContext(ExtensionContext context) {
-        var testClass = context.getRequiredTestClass();
+        this(context.getRequiredTestClass());
+    }
+
+    ImportContext(Class<?> testClass) {
+        this(TestClassMetadata.of(testClass).getImportDefinitions());
+    }
+
+    ImportContext(List<ImportDefinition> imports) {
+        this.imports = List.copyOf(imports);
+    }
 
-        loadImportsFromAnnotations(testClass);
+    List<ImportDefinition> getDefinitions() {
+        return List.copyOf(imports);
     }
 
     void forEach(Consumer<ImportDefinition> action) {
         imports.forEach(action);
     }
 
-    private void loadImportsFromAnnotations(Class<?> testClass) {
+    static List<ImportDefinition> loadImportsFromAnnotations(Class<?> testClass) {
         // Scan for @Import annotations and store their information
+        var imports = new ArrayList<ImportDefinition>();
         var importBeans = AnnotationSupport.findRepeatableAnnotations(testClass, Import.class);
         for (var importBean : importBeans) {
             for (var importType : importBean.value()) {
@@ -41,6 +52,7 @@ class ImportContext {
                 imports.add(new ImportDefinition(importType, name));
             }
         }
+        return List.copyOf(imports);
     }
 
     @Getter
@@ -0,0 +1,129 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.SecurityContext;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+
+/**
+ * Jersey client connector which hands requests directly to the {@link ApplicationHandler} of a running application
+ * rather than sending them over the wire. Requests are never seen by the servlet container (or its filters).
+ */
+@RequiredArgsConstructor
+class InMemoryConnectorProvider implements ConnectorProvider {
+
+    private final URI baseUri;
+    private final ApplicationHandler applicationHandler;
+
+    @Override
+    public Connector getConnector(Client client, Configuration runtimeConfig) {
+        return new InMemoryConnector();
+    }
+
+    private class InMemoryConnector implements Connector {
+
+        @Override
+        public ClientResponse apply(ClientRequest clientRequest) {
+            var containerRequest = new ContainerRequest(baseUri, clientRequest.getUri(), clientRequest.getMethod(),
+                    new InMemorySecurityContext(clientRequest.getUri()), new MapPropertiesDelegate(), null);
+
+            // Entity providers may add headers (e.g. Content-Type) while writing; serialize the entity first
+            if (clientRequest.hasEntity()) {
+                var entityStream = new ByteArrayOutputStream();
+                clientRequest.setStreamProvider(contentLength -> entityStream);
+                try {
+                    clientRequest.writeEntity();
+                }
+                catch (IOException e) {
+                    throw new ProcessingException("Failed to serialize the request entity.", e);
+                }
+                containerRequest.setEntityStream(new ByteArrayInputStream(entityStream.toByteArray()));
+            }
+            clientRequest.getStringHeaders().forEach(containerRequest::headers);
+
+            try {
+                var responseStream = new ByteArrayOutputStream();
+                var containerResponse = applicationHandler.apply(containerRequest, responseStream).get();
+
+                var clientResponse = new ClientResponse(containerResponse.getStatusInfo(), clientRequest);
+                clientResponse.getHeaders().putAll(containerResponse.getStringHeaders());
+                clientResponse.setEntityStream(new ByteArrayInputStream(responseStream.toByteArray()));
+                return clientResponse;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessingException(e);
+            }
+            catch (ExecutionException e) {
+                throw new ProcessingException(e.getCause());
+            }
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest clientRequest, AsyncConnectorCallback callback) {
+            try {
+                var clientResponse = apply(clientRequest);
+                callback.response(clientResponse);
+                return CompletableFuture.completedFuture(clientResponse);
+            }
+            catch (Throwable e) {
+                callback.failure(e);
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "In-memory connector";
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class InMemorySecurityContext implements SecurityContext {
+        private final URI requestUri;
+
+        @Override
+        public Principal getUserPrincipal() {
+            return null;
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return false;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return "https".equalsIgnoreCase(requestUri.getScheme());
+        }
+
+        @Override
+        public String getAuthenticationScheme() {
+            return null;
+        }
+    }
+}
@@ -8,47 +8,146 @@ import lombok.experimental.Accessors;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
-import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.platform.commons.support.AnnotationSupport;
 import org.mockito.Mockito;
 import org.mockito.internal.util.MockUtil;
 
 import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockLatency;
 
+/**
+ * The mocks declared by a single test class. Generating a mock is comparatively expensive; mocks are therefore only created
+ * once they are first injected or invoked (through a {@link MockProxyContext} proxy). The mocks of a @Nested test class
+ * which are declared by its enclosing class are those of the enclosing class (and therefore of the enclosing instance).
+ */
 class MockContext {
 
-    private final Map<MockDefinition, Object> mocks = new LinkedHashMap<>();
+    private final MockContext parent;
+    private final List<MockDefinition> mockDefinitions;
+    private final Set<MockDefinition> stubOnlyDefinitions;
+    private final Map<MockDefinition, MockLatencyProfile> latencyProfiles;
+    private final Map<MockDefinition, Object> mocks = new ConcurrentHashMap<>();
+    // Mocks which were stubbed or invoked since they were created or last reset
+    private final Set<MockDefinition> dirtyMocks = ConcurrentHashMap.newKeySet();
 
-    MockContext(ExtensionContext context) {
-        var testClass = context.getRequiredTestClass();
+    MockContext(List<MockDefinition> mockDefinitions) {
+        this(mockDefinitions, null);
+    }
 
-        loadMocksFromAnnotations(testClass);
-        loadMocksFromProperties(testClass);
+    MockContext(List<MockDefinition> mockDefinitions, MockContext parent) {
+        this.parent = parent;
+        this.mockDefinitions = List.copyOf(mockDefinitions);
+        this.stubOnlyDefinitions = mockDefinitions.stream()
+                .filter(MockDefinition::stubOnly)
+                .collect(Collectors.toUnmodifiableSet());
+
+        var latencyProfiles = new HashMap<MockDefinition, MockLatencyProfile>();
+        for (var mockDefinition : mockDefinitions) {
+            var latencyProfile = MockLatencyProfile.from(mockDefinition.latency(), mockDefinition.rawType());
+            if (latencyProfile != null) {
+                latencyProfiles.put(mockDefinition, latencyProfile);
+            }
+        }
+        this.latencyProfiles = Map.copyOf(latencyProfiles);
     }
 
-    void resetMocks() {
-        for (var mock : mocks.values()) {
-            MockUtil.resetMock(mock);
+    /**
+     * Scans the test class for all class and field level @MockBean definitions.
+     */
+    static List<MockDefinition> findMockDefinitions(Class<?> testClass) {
+        return findMockDefinitions(findClassMockBeans(testClass), findMockFields(testClass));
+    }
+
+    /**
+     * Creates the mock definitions of the given class level @MockBean annotations and @MockBean fields.
+     */
+    static List<MockDefinition> findMockDefinitions(List<MockBean> classMockBeans, List<Field> mockFields) {
+        var mockDefinitions = new LinkedHashSet<MockDefinition>();
+        loadMocksFromAnnotations(classMockBeans, mockDefinitions);
+        loadMocksFromProperties(mockFields, mockDefinitions);
+        return List.copyOf(mockDefinitions);
+    }
+
+    boolean isMocked(MockDefinition mockDefinition) {
+        return mockDefinitions.contains(mockDefinition);
+    }
+
+    /**
+     * Returns the mock for the given definition, creating it on first use; null if this context does not mock it.
+     */
+    Object getMock(MockDefinition mockDefinition) {
+        if (!isMocked(mockDefinition)) {
+            return null;
         }
+
+        if (parent != null && parent.isMocked(mockDefinition)) {
+            return parent.getMock(mockDefinition);
+        }
+
+        return mocks.computeIfAbsent(mockDefinition, this::createMock);
     }
 
-    void forEach(BiConsumer<MockDefinition, Object> action) {
-        mocks.forEach(action);
+    /**
+     * Applies the simulated latency (and failures) configured for the given mock, if any.
+     */
+    void simulateLatency(MockDefinition mockDefinition) throws Throwable {
+        var latencyProfile = latencyProfiles.get(mockDefinition);
+        if (latencyProfile != null) {
+            latencyProfile.apply();
+        }
     }
 
-    void injectTestInstanceMocks(Object testInstance, BiFunction<Class<?>, Type, Object> mockSupplier) {
-        var testClass = testInstance.getClass();
-        var mockFields = getMockFields(testClass).stream()
-                .filter(field -> !Modifier.isFinal(field.getModifiers()))
-                .collect(Collectors.toList());
+    private Object createMock(MockDefinition mockDefinition) {
+        // The given definition may belong to another test class sharing the application; use this class's settings
+        // Stubbing invokes the mock as well
+        var mockSettings = Mockito.withSettings()
+                .invocationListeners(report -> dirtyMocks.add(mockDefinition));
+        if (stubOnlyDefinitions.contains(mockDefinition)) {
+            mockSettings.stubOnly();
+        }
+
+        return Mockito.mock(mockDefinition.rawType(), mockSettings);
+    }
+
+    /**
+     * Finds the mock defined for the given type; when no name is requested the first mock of that type is returned.
+     */
+    Object findMock(Type type, String name) {
+        return mockDefinitions.stream()
+                .filter(mockDefinition -> mockDefinition.type().equals(type))
+                .filter(mockDefinition -> name == null || name.equals(mockDefinition.name()))
+                .findFirst()
+                .map(this::getMock)
+                .orElse(null);
+    }
+
+    /**
+     * Resets every mock which was stubbed or invoked since it was created or last reset. Mocks which have not been
+     * created yet have nothing to reset.
+     */
+    void resetMocks() {
+        for (var mockDefinition : List.copyOf(dirtyMocks)) {
+            dirtyMocks.remove(mockDefinition);
+            MockUtil.resetMock(mocks.get(mockDefinition));
+        }
+
+        if (parent != null) {
+            parent.resetMocks();
+        }
+    }
+
+    static void injectTestInstanceMocks(Object testInstance, BiFunction<Class<?>, Type, Object> mockSupplier) {
+        var mockFields = TestClassMetadata.of(testInstance.getClass()).getInjectableMockFields();
 
         for (var field : mockFields) {
             try {
@@ -56,7 +155,6 @@ class MockContext {
                 var parameterizedType = field.getGenericType();
                 var mock = mockSupplier.apply(rawType, parameterizedType);
 
-                field.setAccessible(true);
                 if (field.get(testInstance) == null) {
                     field.set(testInstance, mock);
                 }
@@ -67,9 +165,12 @@ class MockContext {
         }
     }
 
-    private void loadMocksFromAnnotations(Class<?> testClass) {
-        // Scan for @MockBean annotations and prep our test mocks
-        var mockBeans = AnnotationSupport.findRepeatableAnnotations(testClass, MockBean.class);
+    static List<MockBean> findClassMockBeans(Class<?> testClass) {
+        return AnnotationSupport.findRepeatableAnnotations(testClass, MockBean.class);
+    }
+
+    private static void loadMocksFromAnnotations(List<MockBean> mockBeans, Set<MockDefinition> mockDefinitions) {
+        // Prep our test mocks from the class level @MockBean annotations
         for (var mockBean : mockBeans) {
             if (mockBean.value().length == 0) {
                 throw new IllegalStateException("@MockBean(value=?) is required at class level.");
@@ -78,24 +179,35 @@ class MockContext {
             for (var mockType : mockBean.value()) {
                 // Only use bean name definition if exactly one mock type is specified on the @MockBean annotation.
                 var name = mockBean.value().length <= 1 ? mockBean.name() : null;
-                var mock = Mockito.mock(mockType);
-                mocks.put(new MockDefinition(mockType, name), mock);
+                mockDefinitions.add(new MockDefinition(mockType, mockType, name, mockBean.stubOnly(), mockBean.latency()));
             }
         }
     }
 
-    private void loadMocksFromProperties(Class<?> testClass) {
-        var mockFields = getMockFields(testClass);
-
+    private static void loadMocksFromProperties(List<Field> mockFields, Set<MockDefinition> mockDefinitions) {
         for (var field : mockFields) {
             var mockBean = field.getAnnotation(MockBean.class);
             var name = mockBean.name();
-            var mock = Mockito.mock(field.getType());
-            mocks.put(new MockDefinition(field.getGenericType(), name), mock);
+            mockDefinitions.add(new MockDefinition(field.getType(), field.getGenericType(), name, mockBean.stubOnly(), mockBean.latency()));
         }
     }
 
-    private List<Field> getMockFields(Class<?> testClass) {
+    /**
+     * Returns the (accessible) non-final @MockBean fields which are set after the test instance is constructed.
+     */
+    static List<Field> findInjectableMockFields(List<Field> mockFields) {
+        var injectableFields = mockFields.stream()
+                .filter(field -> !Modifier.isFinal(field.getModifiers()))
+                .collect(Collectors.toList());
+
+        injectableFields.forEach(field -> field.setAccessible(true));
+        return List.copyOf(injectableFields);
+    }
+
+    /**
+     * Scans the test class hierarchy for all @MockBean fields.
+     */
+    static List<Field> findMockFields(Class<?> testClass) {
         return FieldUtils.getAllFieldsList(testClass).stream()
                 .filter(field -> field.getAnnotation(MockBean.class) != null)
                 .collect(Collectors.toList());
@@ -106,7 +218,14 @@ class MockContext {
     @EqualsAndHashCode
     @RequiredArgsConstructor
     static class MockDefinition {
+        private final Class<?> rawType;
         private final Type type;
         private final String name;
+
+        // How a mock is created does not affect how (or whether) it is bound in the HK2 context
+        @EqualsAndHashCode.Exclude
+        private final boolean stubOnly;
+        @EqualsAndHashCode.Exclude
+        private final MockLatency latency;
     }
 }
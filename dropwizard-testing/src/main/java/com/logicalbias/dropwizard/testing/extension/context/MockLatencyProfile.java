@@ -0,0 +1,162 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import com.logicalbias.dropwizard.testing.extension.annotation.MockLatency;
+import com.logicalbias.dropwizard.testing.extension.utils.TestHelpers;
+
+/**
+ * Applies the {@link MockLatency} profile of a mock: delays the calling thread and simulates failures.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class MockLatencyProfile {
+
+    private final MockLatency latency;
+    private final List<Point> percentiles;
+
+    /**
+     * Returns the profile of the given annotation of a mock of the given type or null if it does not simulate anything.
+     */
+    static MockLatencyProfile from(MockLatency latency, Class<?> mockedType) {
+        if (latency.errorRate() < 0 || latency.errorRate() > 1) {
+            throw new IllegalStateException("@MockLatency(errorRate) must be between 0.0 and 1.0: " + latency.errorRate());
+        }
+
+        if (latency.distribution() == MockLatency.Distribution.NONE && latency.errorRate() == 0) {
+            return null;
+        }
+
+        if (latency.errorRate() > 0) {
+            validateError(latency.error(), mockedType);
+        }
+
+        if (latency.distribution() == MockLatency.Distribution.UNIFORM && latency.maxMillis() < latency.millis()) {
+            throw new IllegalStateException("@MockLatency(maxMillis) must not be less than millis for the UNIFORM distribution.");
+        }
+
+        if (latency.distribution() == MockLatency.Distribution.PERCENTILE && latency.percentiles().length == 0) {
+            throw new IllegalStateException("@MockLatency(percentiles) are required for the PERCENTILE distribution.");
+        }
+
+        return new MockLatencyProfile(latency, parsePercentiles(latency.percentiles()));
+    }
+
+    /**
+     * The error is thrown from every method of the mock; a checked exception must be declared by all of them.
+     */
+    private static void validateError(Class<? extends Throwable> errorType, Class<?> mockedType) {
+        if (RuntimeException.class.isAssignableFrom(errorType) || Error.class.isAssignableFrom(errorType)) {
+            return;
+        }
+
+        Arrays.stream(mockedType.getMethods())
+                .filter(method -> method.getDeclaringClass() != Object.class)
+                .filter(method -> Arrays.stream(method.getExceptionTypes()).noneMatch(type -> type.isAssignableFrom(errorType)))
+                .findFirst()
+                .ifPresent(method -> {
+                    throw new IllegalStateException(String.format("@MockLatency(error) %s is a checked exception which %s.%s does not declare.",
+                            errorType.getName(), mockedType.getSimpleName(), method.getName()));
+                });
+    }
+
+    /**
+     * Delays the calling thread according to the distribution and then throws the configured error for the
+     * configured ratio of invocations.
+     */
+    void apply() throws Throwable {
+        var delay = nextDelay();
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (latency.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < latency.errorRate()) {
+            throw createError();
+        }
+    }
+
+    long nextDelay() {
+        var random = ThreadLocalRandom.current();
+        switch (latency.distribution()) {
+            case FIXED:
+                return latency.millis();
+            case UNIFORM:
+                return random.nextLong(latency.millis(), latency.maxMillis() + 1);
+            case PERCENTILE:
+                return interpolate(random.nextDouble(100));
+            default:
+                return 0;
+        }
+    }
+
+    private long interpolate(double percentile) {
+        // Delays below the lowest percentile use its value as well
+        var previous = new Point(0, percentiles.get(0).millis);
+        for (var point : percentiles) {
+            if (percentile <= point.percentile) {
+                var ratio = point.percentile == previous.percentile
+                        ? 1
+                        : (percentile - previous.percentile) / (point.percentile - previous.percentile);
+                return Math.round(previous.millis + ratio * (point.millis - previous.millis));
+            }
+            previous = point;
+        }
+
+        return previous.millis;
+    }
+
+    private Throwable createError() {
+        var errorType = latency.error();
+        var message = "Simulated @MockLatency failure";
+        try {
+            return errorType.getConstructor(String.class).newInstance(message);
+        }
+        catch (NoSuchMethodException e) {
+            try {
+                return errorType.getConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Unable to create @MockLatency error: " + errorType.getName(), ex);
+            }
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create @MockLatency error: " + errorType.getName(), e);
+        }
+    }
+
+    private static List<Point> parsePercentiles(String[] percentiles) {
+        return Arrays.stream(percentiles)
+                .map(TestHelpers::splitProperty)
+                .map(values -> {
+                    try {
+                        var point = new Point(Double.parseDouble(values[0].trim()), Long.parseLong(values[1].trim()));
+                        if (point.percentile <= 0 || point.percentile > 100 || point.millis < 0) {
+                            throw new IllegalStateException("Invalid @MockLatency percentile: " + String.join("=", values));
+                        }
+                        return point;
+                    }
+                    catch (NumberFormatException e) {
+                        throw new IllegalStateException("Invalid @MockLatency percentile: " + String.join("=", values), e);
+                    }
+                })
+                .sorted(Comparator.comparingDouble(point -> point.percentile))
+                .collect(Collectors.toList());
+    }
+
+    @RequiredArgsConstructor
+    private static class Point {
+        private final double percentile;
+        private final long millis;
+    }
+}
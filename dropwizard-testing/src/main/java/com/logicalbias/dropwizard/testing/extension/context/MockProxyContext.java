@@ -0,0 +1,203 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import jakarta.inject.Singleton;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.api.ServiceHandle;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * <p>
+ * Stable proxies which are bound into the HK2 context of an application in place of every mocked contract.
+ * </p>
+ * <p>
+ * Each proxy forwards to the mock of the test class currently using the application or, when that test class does not
+ * mock the contract, to the implementation the application bound itself. This allows test classes declaring different
+ * sets of mocks to share a single running application.
+ * </p>
+ */
+class MockProxyContext {
+
+    // Marks the descriptors the proxies are bound with
+    static final String PROXY_METADATA_KEY = "dropwizard.test.mockProxy";
+
+    private final Map<MockContext.MockDefinition, MockProxy> proxies;
+    private final Map<Object, MockProxy> proxiesByInstance;
+    private final Supplier<ServiceLocator> serviceLocator;
+
+    MockProxyContext(List<MockContext.MockDefinition> mockDefinitions, Supplier<ServiceLocator> serviceLocator) {
+        var proxies = new LinkedHashMap<MockContext.MockDefinition, MockProxy>();
+        for (var mockDefinition : mockDefinitions) {
+            proxies.put(mockDefinition, new MockProxy(mockDefinition));
+        }
+
+        this.proxies = Collections.unmodifiableMap(proxies);
+        this.proxiesByInstance = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.serviceLocator = serviceLocator;
+    }
+
+    /**
+     * Passes the factory of every proxy to the given action; a proxy is only created once it is first looked up.
+     */
+    void forEach(BiConsumer<MockContext.MockDefinition, Factory<Object>> action) {
+        proxies.forEach(action);
+    }
+
+    /**
+     * Points every proxy at the corresponding mock of the given test class; proxies for contracts the test class does not
+     * mock fall back to the application's own implementation. Mocks are only created once a proxy is invoked.
+     */
+    void retarget(MockContext mockContext) {
+        proxies.values().forEach(proxy -> proxy.mockContext = mockContext);
+    }
+
+    /**
+     * Points every proxy back at the implementation it falls back to; once no test class uses the application, the
+     * mocks of the last one are neither invoked nor retained.
+     */
+    void reset() {
+        retarget(null);
+    }
+
+    /**
+     * Resolves a bean retrieved from the HK2 context to the instance a test class should see; proxies are replaced by the
+     * test class's own mock or the implementation they fall back to.
+     */
+    Object unwrap(Object bean, MockContext mockContext) {
+        var proxy = proxiesByInstance.get(bean);
+        if (proxy == null) {
+            return bean;
+        }
+
+        var mock = mockContext.getMock(proxy.mockDefinition);
+        if (mock != null) {
+            return mock;
+        }
+
+        var implementation = proxy.getImplementation();
+        return implementation != null ? implementation : bean;
+    }
+
+    private class MockProxy implements Answer<Object>, Factory<Object> {
+        private final MockContext.MockDefinition mockDefinition;
+        private volatile Object instance;
+
+        private volatile MockContext mockContext;
+        private volatile ActiveDescriptor<?> implementationDescriptor;
+        private volatile boolean implementationResolved;
+        private volatile Object singletonImplementation;
+
+        MockProxy(MockContext.MockDefinition mockDefinition) {
+            this.mockDefinition = mockDefinition;
+        }
+
+        @Override
+        public Object provide() {
+            if (instance == null) {
+                synchronized (this) {
+                    if (instance == null) {
+                        var proxy = Mockito.mock(mockDefinition.rawType(), Mockito.withSettings()
+                                .stubOnly()
+                                .defaultAnswer(this));
+                        proxiesByInstance.put(proxy, this);
+                        instance = proxy;
+                    }
+                }
+            }
+
+            return instance;
+        }
+
+        @Override
+        public void dispose(Object instance) {
+            // The proxy lives as long as the application
+        }
+
+        @Override
+        public Object answer(InvocationOnMock invocation) throws Throwable {
+            Object target;
+            var mockContext = this.mockContext;
+            if (mockContext != null && mockContext.isMocked(mockDefinition)) {
+                mockContext.simulateLatency(mockDefinition);
+                target = mockContext.getMock(mockDefinition);
+            }
+            else {
+                target = getImplementation();
+            }
+
+            // Nothing to forward to; behave like a mock which has not been stubbed
+            if (target == null) {
+                return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+
+            var method = invocation.getMethod();
+            try {
+                method.trySetAccessible();
+                return method.invoke(target, invocation.getArguments());
+            }
+            catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * The highest ranked service bound for the mocked contract other than this proxy (typically the application's
+         * own implementation). The service is resolved once when it is a singleton; services of any other scope (e.g.
+         * per lookup or request scoped) are resolved on every call, as they are for the services injecting them.
+         */
+        Object getImplementation() {
+            var descriptor = getImplementationDescriptor();
+            if (descriptor == null) {
+                return null;
+            }
+
+            if (!Singleton.class.getName().equals(descriptor.getScope())) {
+                return serviceLocator.get().getServiceHandle(descriptor).getService();
+            }
+
+            var implementation = singletonImplementation;
+            if (implementation == null) {
+                implementation = serviceLocator.get().getServiceHandle(descriptor).getService();
+                singletonImplementation = implementation;
+            }
+            return implementation;
+        }
+
+        private ActiveDescriptor<?> getImplementationDescriptor() {
+            if (!implementationResolved) {
+                synchronized (this) {
+                    if (!implementationResolved) {
+                        implementationDescriptor = findImplementationDescriptor();
+                        implementationResolved = true;
+                    }
+                }
+            }
+
+            return implementationDescriptor;
+        }
+
+        private ActiveDescriptor<?> findImplementationDescriptor() {
+            var name = mockDefinition.name();
+            return serviceLocator.get().getAllServiceHandles(mockDefinition.type()).stream()
+                    .<ActiveDescriptor<?>>map(ServiceHandle::getActiveDescriptor)
+                    .filter(descriptor -> name == null || name.isBlank() || name.equals(descriptor.getName()))
+                    .filter(descriptor -> !descriptor.getMetadata().containsKey(PROXY_METADATA_KEY))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.api.Filter;
+import org.glassfish.hk2.api.Injectee;
+import org.glassfish.hk2.api.InstanceLifecycleEvent;
+import org.glassfish.hk2.api.InstanceLifecycleListener;
+import org.glassfish.hk2.api.IterableProvider;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.BuilderHelper;
+import org.glassfish.hk2.utilities.reflection.ReflectionHelper;
+
+/**
+ * <p>
+ * Times the creation of the HK2 services and Jersey components of an application (see
+ * {@link ContextCache#PROFILED_SERVICES_PROPERTY_NAME}). HK2 resolves the injected dependencies of a service before
+ * creating it; the time recorded for a service is therefore the time spent in its constructor, injection methods and
+ * post construct methods. Services created from within that code (e.g. through a {@code Provider}) are timed on their own
+ * and excluded from the time of the service creating them.
+ * </p>
+ * <p>
+ * Every service is reported along with a chain of services which required it, starting from a service nothing else
+ * depended upon; e.g. {@code WidgetResource -> WidgetService}. The injected dependencies of a service are identified by
+ * the descriptors the application's service locator resolves them to (rather than by the class of the injected
+ * instances, which may be mocks or proxies); they are resolved once the slowest services are requested.
+ * </p>
+ */
+// HK2 only accepts lifecycle listeners in the Singleton scope
+@Singleton
+class ServiceProfiler implements InstanceLifecycleListener {
+
+    private static final int MAX_CHAIN_LENGTH = 8;
+
+    // Services currently being created by each thread; the last one is the innermost
+    private final ThreadLocal<Deque<Creation>> creations = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Map<String, Timing> timings = new HashMap<>();
+    // Services by the services which required them (were injected with or created them)
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    // Injection points of the services created since the dependents were last resolved
+    private final List<Dependency> unresolvedDependencies = new ArrayList<>();
+
+    @Override
+    public Filter getFilter() {
+        return BuilderHelper.allFilter();
+    }
+
+    @Override
+    public void lifecycleEvent(InstanceLifecycleEvent event) {
+        switch (event.getEventType()) {
+            case PRE_PRODUCTION:
+                creations.get().addLast(new Creation(event.getActiveDescriptor(), System.nanoTime()));
+                break;
+            case POST_PRODUCTION:
+                created(event, System.nanoTime());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void created(InstanceLifecycleEvent event, long now) {
+        var descriptor = event.getActiveDescriptor();
+        var creations = this.creations.get();
+
+        // Creations which failed are never completed; drop them along the way
+        Creation creation;
+        do {
+            creation = creations.pollLast();
+        }
+        while (creation != null && creation.descriptor != descriptor);
+
+        if (creation == null) {
+            return;
+        }
+
+        var totalNanos = now - creation.started;
+        var parent = creations.peekLast();
+        if (parent != null) {
+            parent.nestedNanos += totalNanos;
+        }
+
+        var injectees = event.getKnownInjectees() == null ? List.<Injectee>of() : List.copyOf(event.getKnownInjectees().keySet());
+        record(getName(descriptor), totalNanos - creation.nestedNanos, totalNanos, injectees,
+                parent == null ? null : getName(parent.descriptor));
+    }
+
+    private synchronized void record(String service, long selfNanos, long totalNanos, List<Injectee> injectees, String creator) {
+        var timing = timings.computeIfAbsent(service, k -> new Timing());
+        timing.count++;
+        timing.selfNanos += selfNanos;
+        timing.totalNanos += totalNanos;
+
+        injectees.forEach(injectee -> unresolvedDependencies.add(new Dependency(injectee, service)));
+        if (creator != null) {
+            dependents.computeIfAbsent(service, k -> new LinkedHashSet<>()).add(creator);
+        }
+    }
+
+    private void resolveDependencies(ServiceLocator serviceLocator) {
+        for (var dependency : unresolvedDependencies) {
+            // Services obtained through a provider are recorded along with the service which created them
+            var requiredType = ReflectionHelper.getRawClass(dependency.injectee.getRequiredType());
+            if (requiredType == Provider.class || requiredType == IterableProvider.class) {
+                continue;
+            }
+
+            try {
+                var descriptor = serviceLocator.getInjecteeDescriptor(dependency.injectee);
+                if (descriptor != null) {
+                    dependents.computeIfAbsent(getName(descriptor), k -> new LinkedHashSet<>()).add(dependency.service);
+                }
+            }
+            catch (RuntimeException e) {
+                // No longer resolvable; the chains of the dependency are merely shorter
+            }
+        }
+        unresolvedDependencies.clear();
+    }
+
+    /**
+     * Returns the services which took the longest to create (excluding the services they created), slowest first. The
+     * given service locator (of the running application) resolves the dependencies of the services.
+     */
+    synchronized List<ServiceTiming> getSlowest(int limit, ServiceLocator serviceLocator) {
+        resolveDependencies(serviceLocator);
+        return timings.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Timing> entry) -> entry.getValue().selfNanos).reversed())
+                .limit(limit)
+                .map(entry -> new ServiceTiming(entry.getKey(), entry.getValue().count, entry.getValue().selfNanos,
+                        entry.getValue().totalNanos, getChain(entry.getKey())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Discards the timings recorded so far; e.g. to tell the services created while serving requests apart from those
+     * created during startup. Known dependencies are kept to describe the services created later on.
+     */
+    synchronized void reset() {
+        timings.clear();
+    }
+
+    /**
+     * Renders the slowest services, one per line.
+     */
+    String describeSlowest(int limit, ServiceLocator serviceLocator) {
+        return getSlowest(limit, serviceLocator).stream()
+                .map(timing -> String.format("%n  %6dms %s (%dx, %dms including created services) via %s", millis(timing.selfNanos()),
+                        timing.service(), timing.count(), millis(timing.totalNanos()),
+                        timing.chain().stream().map(ServiceProfiler::getSimpleName).collect(Collectors.joining(" -> "))))
+                .collect(Collectors.joining());
+    }
+
+    private List<String> getChain(String service) {
+        var chain = new ArrayList<String>();
+        chain.add(service);
+
+        // Follow the first known dependent up to a service nothing depends on
+        var current = service;
+        while (chain.size() < MAX_CHAIN_LENGTH) {
+            var dependent = dependents.getOrDefault(current, Collections.emptySet()).stream()
+                    .filter(name -> !chain.contains(name))
+                    .findFirst();
+            if (dependent.isEmpty()) {
+                break;
+            }
+            current = dependent.get();
+            chain.add(current);
+        }
+
+        Collections.reverse(chain);
+        return chain;
+    }
+
+    private static String getName(ActiveDescriptor<?> descriptor) {
+        // Every mock proxy is provided by the same factory class; tell them apart by the mocked type
+        var mockedTypes = descriptor.getMetadata().get(MockProxyContext.PROXY_METADATA_KEY);
+        return mockedTypes == null || mockedTypes.isEmpty() ? descriptor.getImplementation() : mockedTypes.get(0);
+    }
+
+    private static String getSimpleName(String typeName) {
+        var typeArguments = typeName.indexOf('<');
+        return typeName.substring(typeName.lastIndexOf('.', typeArguments < 0 ? typeName.length() : typeArguments) + 1);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @RequiredArgsConstructor
+    private static class Creation {
+        private final ActiveDescriptor<?> descriptor;
+        private final long started;
+        private long nestedNanos;
+    }
+
+    @RequiredArgsConstructor
+    private static class Dependency {
+        private final Injectee injectee;
+        private final String service;
+    }
+
+    private static class Timing {
+        private int count;
+        private long selfNanos;
+        private long totalNanos;
+    }
+
+    /**
+     * Creation time of every instance of a service along with a chain of services which required it, ending with the
+     * service itself.
+     */
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class ServiceTiming {
+        private final String service;
+        private final int count;
+        private final long selfNanos;
+        private final long totalNanos;
+        private final List<String> chain;
+    }
+}
@@ -0,0 +1,79 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.jetty.util.component.LifeCycle;
+
+/**
+ * Records the phases of a single application startup (see {@link StartupReport.Phase}). Sequential phases are closed by
+ * {@link #mark}, each ending where the previous one ended; nested phases are accumulated through {@link #add} or by
+ * timing the start of the lifecycle objects passed to {@link #timeStart}.
+ */
+class StartupRecorder {
+
+    private final Map<StartupReport.Phase, Long> durations = new EnumMap<>(StartupReport.Phase.class);
+    private final Map<LifeCycle, Long> starting = new IdentityHashMap<>();
+
+    private long started;
+    private long lastMark;
+
+    synchronized void begin() {
+        durations.clear();
+        starting.clear();
+        started = System.nanoTime();
+        lastMark = started;
+    }
+
+    /**
+     * Ends the given phase now; it began when the previous phase ended.
+     */
+    synchronized void mark(StartupReport.Phase phase) {
+        var now = System.nanoTime();
+        add(phase, now - lastMark);
+        lastMark = now;
+    }
+
+    synchronized void add(StartupReport.Phase phase, long nanos) {
+        durations.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Adds the time the given lifecycle object takes to start to the given phase.
+     */
+    void timeStart(LifeCycle lifeCycle, StartupReport.Phase phase) {
+        lifeCycle.addEventListener(new LifeCycle.Listener() {
+            @Override
+            public void lifeCycleStarting(LifeCycle event) {
+                synchronized (StartupRecorder.this) {
+                    starting.put(event, System.nanoTime());
+                }
+            }
+
+            @Override
+            public void lifeCycleStarted(LifeCycle event) {
+                synchronized (StartupRecorder.this) {
+                    var startedAt = starting.remove(event);
+                    if (startedAt != null) {
+                        add(phase, System.nanoTime() - startedAt);
+                    }
+                }
+                event.removeEventListener(this);
+            }
+
+            @Override
+            public void lifeCycleFailure(LifeCycle event, Throwable cause) {
+                event.removeEventListener(this);
+            }
+        });
+    }
+
+    synchronized StartupReport finish(Class<?> applicationClass) {
+        var phases = new EnumMap<StartupReport.Phase, Duration>(StartupReport.Phase.class);
+        durations.forEach((phase, nanos) -> phases.put(phase, Duration.ofNanos(nanos)));
+        return new StartupReport(applicationClass, Duration.ofNanos(System.nanoTime() - started), Collections.unmodifiableMap(phases));
+    }
+}
@@ -0,0 +1,87 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Breakdown of the time spent starting a test application. The report of the application used by a test class may be
+ * injected into the test (e.g. as a constructor or method parameter); every report is also logged once its application
+ * has started.
+ *
+ * <p>
+ * Applications are shared between test classes (see {@link ContextCache}); the report always describes the one boot of
+ * the application, which may have been performed for a previous test class.
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class StartupReport {
+
+    /**
+     * The phases of an application's startup. The phases up to and including {@link #SERVER} run one after the other;
+     * the remaining phases are part of {@link #SERVER}.
+     */
+    public enum Phase {
+        /**
+         * Creating the application and running {@code Application::initialize}, which initializes every bundle.
+         */
+        INITIALIZE,
+        /**
+         * Reading, parsing (with the test's properties applied) and validating the configuration.
+         */
+        CONFIGURATION,
+        /**
+         * Creating the environment and running every bundle.
+         */
+        BUNDLES,
+        /**
+         * Running {@code Application::run}.
+         */
+        APPLICATION,
+        /**
+         * Building and starting the Jetty server; includes all of the phases below.
+         */
+        SERVER,
+        /**
+         * Initializing the Jersey application (resources, providers and the HK2 context).
+         */
+        JERSEY,
+        /**
+         * Binding the mock proxies, imports and registered dependencies of the test into the HK2 context.
+         */
+        HK2_BINDING,
+        /**
+         * Starting the application's managed objects.
+         */
+        MANAGED_OBJECTS,
+        /**
+         * Starting the server's connectors.
+         */
+        CONNECTORS
+    }
+
+    private final Class<?> applicationClass;
+    private final Duration total;
+    private final Map<Phase, Duration> phases;
+
+    /**
+     * Returns the time spent within the given phase; zero if the phase did not occur (e.g. connectors for the IN_MEMORY
+     * web environment).
+     */
+    public Duration getDuration(Phase phase) {
+        return phases.getOrDefault(phase, Duration.ZERO);
+    }
+
+    @Override
+    public String toString() {
+        var phaseTimings = phases.entrySet().stream()
+                .map(entry -> entry.getKey().name().toLowerCase() + "=" + entry.getValue().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+        return applicationClass.getSimpleName() + " started in " + total.toMillis() + "ms [" + phaseTimings + "]";
+    }
+}
@@ -0,0 +1,352 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.logicalbias.dropwizard.testing.extension.client.RequestTiming;
+
+/**
+ * Collects the cost of every test class and application context of a test session for the {@link SuiteReportListener}.
+ * The report is bound to the {@link ContextCache} of its session (see {@link ContextCache#getSuiteReport()}); only the
+ * applications of that cache and the test classes using them are recorded, even while other (e.g. nested) sessions run.
+ */
+class SuiteReport {
+
+    static final int SLOWEST_ENDPOINTS = 10;
+
+    /**
+     * How a test class came by its application.
+     */
+    enum Reuse {
+        /**
+         * No cached application could serve the test class; it started a new one.
+         */
+        BOOTED,
+        /**
+         * A cached (or prewarmed) application was reused.
+         */
+        CACHED,
+        /**
+         * The @Nested test class used the application of its enclosing class.
+         */
+        ENCLOSING
+    }
+
+    private final Map<String, ClassEntry> classes = new LinkedHashMap<>();
+    private final Map<String, ContextEntry> contexts = new LinkedHashMap<>();
+    private final Map<String, EndpointEntry> endpoints = new LinkedHashMap<>();
+    private final long sessionStarted = System.nanoTime();
+
+    synchronized void recordBoot(ContextKey key, StartupReport startupReport) {
+        var context = context(key);
+        context.boots++;
+        context.bootNanos += startupReport.getTotal().toNanos();
+    }
+
+    synchronized void recordTeardown(ContextKey key, long nanos) {
+        // Applications which were neither started nor used during the session are not part of its report
+        var context = contexts.get(key.fingerprint());
+        if (context != null) {
+            context.teardowns++;
+            context.teardownNanos += nanos;
+        }
+    }
+
+    synchronized void recordRequest(ContextKey key, RequestTiming requestTiming) {
+        var application = key.applicationClass().getName();
+        var entry = endpoints.computeIfAbsent(application + " " + requestTiming.getMethod() + " " + requestTiming.getPath(),
+                k -> new EndpointEntry(application, requestTiming.getMethod(), requestTiming.getPath()));
+        entry.count++;
+        entry.totalNanos += requestTiming.getTotal().toNanos();
+        entry.maxNanos = Math.max(entry.maxNanos, requestTiming.getTotal().toNanos());
+        requestTiming.getPhases().forEach((phase, duration) -> entry.phaseNanos.merge(phase, duration.toNanos(), Long::sum));
+    }
+
+    synchronized void recordAcquired(Class<?> testClass, ApplicationContext applicationContext, Reuse reuse) {
+        var startupReport = applicationContext.getStartupReport();
+        var context = context(applicationContext.getKey());
+        context.testClasses.add(testClass.getName());
+        if (reuse == Reuse.BOOTED) {
+            context.misses++;
+        }
+        else {
+            context.hits++;
+        }
+
+        var entry = testClass(testClass.getName());
+        entry.fingerprint = context.fingerprint;
+        entry.reuse = reuse;
+        entry.bootNanos = reuse == Reuse.BOOTED && startupReport != null ? startupReport.getTotal().toNanos() : 0;
+    }
+
+    synchronized void recordExecution(Class<?> testClass, long nanos, long peakHeapBytes) {
+        var entry = testClass(testClass.getName());
+        entry.executionNanos += nanos;
+        entry.peakHeapBytes = Math.max(entry.peakHeapBytes, peakHeapBytes);
+    }
+
+    private ContextEntry context(ContextKey key) {
+        return contexts.computeIfAbsent(key.fingerprint(), fingerprint -> new ContextEntry(fingerprint, key));
+    }
+
+    private ClassEntry testClass(String className) {
+        return classes.computeIfAbsent(className, ClassEntry::new);
+    }
+
+    // ********************************************************************************
+    // Report output
+    // ********************************************************************************
+
+    /**
+     * Writes the JSON report and the readable summary of the session into the given directory.
+     */
+    synchronized void write(Path directory, String baseName, long evictions) throws IOException {
+        Files.createDirectories(directory);
+
+        var objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.writeString(directory.resolve(baseName + ".json"), objectMapper.writeValueAsString(toJson(evictions)), StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve(baseName + ".txt"), toSummary(evictions), StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> toJson(long evictions) {
+        var suite = new LinkedHashMap<String, Object>();
+        suite.put("durationMillis", millis(System.nanoTime() - sessionStarted));
+        suite.put("testClasses", getTestClasses().size());
+        suite.put("contexts", contexts.size());
+        suite.put("boots", contexts.values().stream().mapToInt(context -> context.boots).sum());
+        suite.put("bootMillis", millis(contexts.values().stream().mapToLong(context -> context.bootNanos).sum()));
+        suite.put("teardownMillis", millis(contexts.values().stream().mapToLong(context -> context.teardownNanos).sum()));
+        suite.put("executionMillis", millis(getTestClasses().stream().mapToLong(entry -> entry.executionNanos).sum()));
+        suite.put("cacheHits", contexts.values().stream().mapToInt(context -> context.hits).sum());
+        suite.put("cacheMisses", contexts.values().stream().mapToInt(context -> context.misses).sum());
+        suite.put("cacheEvictions", evictions);
+        suite.put("peakHeapBytes", getTestClasses().stream().mapToLong(entry -> entry.peakHeapBytes).max().orElse(0));
+        suite.put("requests", endpoints.values().stream().mapToInt(entry -> entry.count).sum());
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("suite", suite);
+        report.put("contexts", contexts.values().stream().map(this::toJson).collect(Collectors.toList()));
+        report.put("testClasses", getTestClasses().stream().map(SuiteReport::toJson).collect(Collectors.toList()));
+        report.put("endpoints", getEndpoints().stream().map(SuiteReport::toJson).collect(Collectors.toList()));
+        return report;
+    }
+
+    private Map<String, Object> toJson(ContextEntry context) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("fingerprint", context.fingerprint);
+        json.put("application", context.key.applicationClass().getName());
+        json.put("configFile", context.key.configFile());
+        json.put("webEnvironment", context.key.webEnvironment().name());
+        json.put("boots", context.boots);
+        json.put("bootMillis", millis(context.bootNanos));
+        json.put("teardowns", context.teardowns);
+        json.put("teardownMillis", millis(context.teardownNanos));
+        json.put("hits", context.hits);
+        json.put("misses", context.misses);
+        json.put("testClasses", context.testClasses);
+
+        var reusedContext = findReusedContext(context);
+        if (reusedContext != null) {
+            var differs = new LinkedHashMap<String, Object>();
+            differs.put("fingerprint", reusedContext.fingerprint);
+            differs.put("differences", reusedContext.key.differencesFrom(context.key));
+            json.put("differsFrom", differs);
+        }
+        return json;
+    }
+
+    private static Map<String, Object> toJson(ClassEntry entry) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("testClass", entry.className);
+        json.put("fingerprint", entry.fingerprint);
+        json.put("reuse", entry.reuse.name());
+        json.put("bootMillis", millis(entry.bootNanos));
+        json.put("executionMillis", millis(entry.executionNanos));
+        json.put("peakHeapBytes", entry.peakHeapBytes);
+        return json;
+    }
+
+    private static Map<String, Object> toJson(EndpointEntry entry) {
+        var phases = new LinkedHashMap<String, Object>();
+        entry.phaseNanos.forEach((phase, nanos) -> phases.put(phase.name().toLowerCase(), fractionalMillis(nanos / entry.count)));
+
+        var json = new LinkedHashMap<String, Object>();
+        json.put("application", entry.application);
+        json.put("method", entry.method);
+        json.put("path", entry.path);
+        json.put("requests", entry.count);
+        json.put("meanMillis", fractionalMillis(entry.getMeanNanos()));
+        json.put("maxMillis", fractionalMillis(entry.maxNanos));
+        json.put("totalMillis", fractionalMillis(entry.totalNanos));
+        json.put("meanPhaseMillis", phases);
+        return json;
+    }
+
+    private String toSummary(long evictions) {
+        var summary = new StringBuilder();
+        var testClasses = getTestClasses();
+        var boots = contexts.values().stream().mapToInt(context -> context.boots).sum();
+
+        summary.append(String.format("@DropwizardTest suite report%n%n"));
+        summary.append(String.format("Test classes:     %d%n", testClasses.size()));
+        summary.append(String.format("Contexts:         %d (%d boots, %d ms)%n", contexts.size(), boots,
+                millis(contexts.values().stream().mapToLong(context -> context.bootNanos).sum())));
+        summary.append(String.format("Teardown:         %d ms%n",
+                millis(contexts.values().stream().mapToLong(context -> context.teardownNanos).sum())));
+        summary.append(String.format("Test execution:   %d ms%n", millis(testClasses.stream().mapToLong(entry -> entry.executionNanos).sum())));
+        summary.append(String.format("Context cache:    %d hits, %d misses, %d evictions%n",
+                contexts.values().stream().mapToInt(context -> context.hits).sum(),
+                contexts.values().stream().mapToInt(context -> context.misses).sum(), evictions));
+        summary.append(String.format("Peak heap:        %d MB%n",
+                testClasses.stream().mapToLong(entry -> entry.peakHeapBytes).max().orElse(0) / (1024 * 1024)));
+
+        summary.append(String.format("%nContexts (by boot time)%n"));
+        summary.append(String.format("  %-16s %6s %9s %9s %5s %6s  %s%n", "fingerprint", "boots", "boot ms", "stop ms", "hits", "misses", "application"));
+        contexts.values().stream()
+                .sorted(Comparator.comparingLong((ContextEntry context) -> context.bootNanos).reversed())
+                .forEach(context -> summary.append(String.format("  %-16s %6d %9d %9d %5d %6d  %s [%s, %s]%n", context.fingerprint,
+                        context.boots, millis(context.bootNanos), millis(context.teardownNanos), context.hits, context.misses,
+                        context.key.applicationClass().getSimpleName(), context.key.configFile(), context.key.webEnvironment())));
+
+        summary.append(String.format("%nTest classes (by boot and execution time)%n"));
+        summary.append(String.format("  %-8s %9s %9s %8s  %s%n", "reuse", "boot ms", "exec ms", "heap MB", "test class"));
+        testClasses.stream()
+                .sorted(Comparator.comparingLong((ClassEntry entry) -> entry.bootNanos + entry.executionNanos).reversed())
+                .forEach(entry -> summary.append(String.format("  %-8s %9d %9d %8d  %s%n", entry.reuse, millis(entry.bootNanos),
+                        millis(entry.executionNanos), entry.peakHeapBytes / (1024 * 1024), entry.className)));
+
+        var blockers = new ArrayList<String>();
+        for (var context : contexts.values()) {
+            var reusedContext = findReusedContext(context);
+            if (reusedContext != null) {
+                blockers.add(String.format("  %s could not reuse %s; differs by %s%n    test classes: %s%n", context.fingerprint,
+                        reusedContext.fingerprint, String.join(", ", reusedContext.key.differencesFrom(context.key)),
+                        String.join(", ", context.testClasses)));
+            }
+        }
+        if (!blockers.isEmpty()) {
+            summary.append(String.format("%nContexts preventing reuse of another context of the same application%n"));
+            blockers.forEach(summary::append);
+        }
+
+        var slowestEndpoints = getEndpoints().stream().limit(SLOWEST_ENDPOINTS).collect(Collectors.toList());
+        if (!slowestEndpoints.isEmpty()) {
+            summary.append(String.format("%nSlowest endpoints (by mean server time)%n"));
+            summary.append(String.format("  %8s %9s %9s  %-16s  %s%n", "requests", "mean ms", "max ms", "slowest phase", "endpoint"));
+            slowestEndpoints.forEach(entry -> summary.append(String.format("  %8d %9.2f %9.2f  %-16s  %s %s (%s)%n", entry.count,
+                    fractionalMillis(entry.getMeanNanos()), fractionalMillis(entry.maxNanos), entry.getSlowestPhase(), entry.method,
+                    entry.path, entry.application.substring(entry.application.lastIndexOf('.') + 1))));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Finds the most used other context of the same application and configuration file; the given context was started
+     * (rather than that one being reused) because of their differences.
+     */
+    private ContextEntry findReusedContext(ContextEntry context) {
+        return contexts.values().stream()
+                .filter(other -> other != context)
+                .filter(other -> other.key.applicationClass() == context.key.applicationClass())
+                .filter(other -> other.key.configFile().equals(context.key.configFile()))
+                .filter(other -> other.testClasses.size() > context.testClasses.size()
+                        || (other.testClasses.size() == context.testClasses.size() && isBefore(other, context)))
+                .max(Comparator.comparingInt(other -> other.testClasses.size()))
+                .orElse(null);
+    }
+
+    private boolean isBefore(ContextEntry context, ContextEntry other) {
+        for (var entry : contexts.values()) {
+            if (entry == context) {
+                return true;
+            }
+            if (entry == other) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private List<ClassEntry> getTestClasses() {
+        // Only classes which used an application are reported
+        return classes.values().stream()
+                .filter(entry -> entry.reuse != null)
+                .collect(Collectors.toList());
+    }
+
+    private List<EndpointEntry> getEndpoints() {
+        return endpoints.values().stream()
+                .sorted(Comparator.comparingLong(EndpointEntry::getMeanNanos).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    // Requests of test applications typically complete within a few milliseconds
+    private static double fractionalMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    @RequiredArgsConstructor
+    private static class ContextEntry {
+        private final String fingerprint;
+        private final ContextKey key;
+        private final Set<String> testClasses = new LinkedHashSet<>();
+        private int boots;
+        private long bootNanos;
+        private int teardowns;
+        private long teardownNanos;
+        private int hits;
+        private int misses;
+    }
+
+    @RequiredArgsConstructor
+    private static class EndpointEntry {
+        private final String application;
+        private final String method;
+        private final String path;
+        private final Map<RequestTiming.Phase, Long> phaseNanos = new EnumMap<>(RequestTiming.Phase.class);
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        long getMeanNanos() {
+            return totalNanos / count;
+        }
+
+        String getSlowestPhase() {
+            return phaseNanos.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> entry.getKey().name().toLowerCase())
+                    .orElse("-");
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class ClassEntry {
+        private final String className;
+        private String fingerprint;
+        private Reuse reuse;
+        private long bootNanos;
+        private long executionNanos;
+        private long peakHeapBytes;
+    }
+}
@@ -0,0 +1,166 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * <p>
+ * Optional launcher listener which reports the cost of every @DropwizardTest class and application context of the test
+ * session. Per test class the report contains whether its application was booted or reused (and the boot time), the
+ * execution time and the peak heap; per application context (identified by a fingerprint of its configuration) the
+ * number of boots, boot and teardown time, cache hits and misses and the test classes it served. Contexts which were
+ * started because they differ from another context of the same application are listed along with their differences,
+ * pointing out the test classes preventing reuse.
+ * </p>
+ * <p>
+ * The report is written as {@code dropwizard-test-report.json} and a readable {@code dropwizard-test-report.txt} into
+ * the {@value #DIRECTORY_PROPERTY_NAME} directory (default {@value #DEFAULT_DIRECTORY}). The listener is registered
+ * automatically with the junit launcher and is disabled unless {@value #ENABLED_PROPERTY_NAME} is set.
+ * </p>
+ * <p>
+ * Peak heap is the highest used heap of the whole JVM sampled every {@value #HEAP_SAMPLE_INTERVAL_MILLIS} ms while the
+ * test class ran (so short-lived peaks between samples may be missed); with parallel execution (or for @Nested classes)
+ * it includes the classes running alongside.
+ * </p>
+ */
+@Slf4j
+public class SuiteReportListener implements TestExecutionListener {
+
+    static final String ENABLED_PROPERTY_NAME = "dropwizard.test.report.enabled";
+    static final String DIRECTORY_PROPERTY_NAME = "dropwizard.test.report.directory";
+    static final String DEFAULT_DIRECTORY = "target";
+    static final String REPORT_NAME = "dropwizard-test-report";
+    static final int HEAP_SAMPLE_INTERVAL_MILLIS = 50;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private final Map<TestIdentifier, RunningClass> runningClasses = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heapSampler;
+
+    private volatile SuiteReport suiteReport;
+    private Path directory;
+    private ContextCache contextCache;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        var parameters = testPlan.getConfigurationParameters();
+        if (!parameters.getBoolean(ENABLED_PROPERTY_NAME).orElse(false)) {
+            return;
+        }
+
+        // The applications of this session record into its report through the session's cache
+        directory = Path.of(parameters.get(DIRECTORY_PROPERTY_NAME).orElse(DEFAULT_DIRECTORY));
+        suiteReport = new SuiteReport();
+        contextCache = ContextCache.open(testPlan);
+        contextCache.setSuiteReport(suiteReport);
+
+        heapSampler = Executors.newSingleThreadScheduledExecutor(new HeapSamplerThreadFactory());
+        heapSampler.scheduleAtFixedRate(this::sampleHeapUsage, HEAP_SAMPLE_INTERVAL_MILLIS, HEAP_SAMPLE_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (suiteReport != null && getDropwizardTestClass(testIdentifier) != null) {
+            runningClasses.put(testIdentifier, new RunningClass(System.nanoTime(), getHeapUsage()));
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        var runningClass = runningClasses.remove(testIdentifier);
+        var suiteReport = this.suiteReport;
+        if (runningClass != null && suiteReport != null) {
+            runningClass.sample(getHeapUsage());
+            suiteReport.recordExecution(getDropwizardTestClass(testIdentifier), System.nanoTime() - runningClass.started,
+                    runningClass.peakHeapUsage.get());
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        var suiteReport = this.suiteReport;
+        if (suiteReport == null) {
+            return;
+        }
+
+        this.suiteReport = null;
+        heapSampler.shutdownNow();
+        heapSampler = null;
+        contextCache.setSuiteReport(null);
+        var evictions = contextCache.getStatistics().getEvictionCount();
+        contextCache = null;
+        ContextCache.close(testPlan);
+
+        try {
+            suiteReport.write(directory, REPORT_NAME, evictions);
+            log.info("@DropwizardTest suite report written to {}.", directory.resolve(REPORT_NAME + ".txt").toAbsolutePath());
+        }
+        catch (IOException e) {
+            log.warn("Failed to write the @DropwizardTest suite report to {}.", directory.toAbsolutePath(), e);
+        }
+    }
+
+    private static Class<?> getDropwizardTestClass(TestIdentifier testIdentifier) {
+        return testIdentifier.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> ((ClassSource) source).getJavaClass())
+                .filter(testClass -> TestClassMetadata.of(testClass).getDropwizardTest().isPresent())
+                .orElse(null);
+    }
+
+    private void sampleHeapUsage() {
+        if (!runningClasses.isEmpty()) {
+            var heapUsage = getHeapUsage();
+            runningClasses.values().forEach(runningClass -> runningClass.sample(heapUsage));
+        }
+    }
+
+    private static long getHeapUsage() {
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * A test class being executed and the highest heap usage sampled since it started.
+     */
+    private static class RunningClass {
+        private final long started;
+        private final AtomicLong peakHeapUsage;
+
+        RunningClass(long started, long heapUsage) {
+            this.started = started;
+            this.peakHeapUsage = new AtomicLong(heapUsage);
+        }
+
+        void sample(long heapUsage) {
+            peakHeapUsage.accumulateAndGet(heapUsage, Math::max);
+        }
+    }
+
+    private static class HeapSamplerThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "dropwizard-test-heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
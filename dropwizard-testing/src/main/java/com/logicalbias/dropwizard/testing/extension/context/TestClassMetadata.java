@@ -0,0 +1,110 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import com.logicalbias.dropwizard.testing.extension.annotation.MockReset;
+import com.logicalbias.dropwizard.testing.extension.annotation.TestProperties;
+
+import static com.logicalbias.dropwizard.testing.extension.utils.TestHelpers.findAnnotations;
+
+/**
+ * Reflection derived metadata of a test class in resolved form. It is computed once per class and shared by every test
+ * instance, test context and prewarm lookup of that class.
+ * <p>
+ * A {@link Nested} test class which does not declare its own {@link DropwizardTest} inherits the configuration of its
+ * enclosing test class; its own declarations (properties, mocks, imports and reset policy) are added on top.
+ * </p>
+ */
+@Getter(AccessLevel.PACKAGE)
+class TestClassMetadata {
+
+    private static final ClassValue<TestClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected TestClassMetadata computeValue(Class<?> testClass) {
+            return new TestClassMetadata(testClass);
+        }
+    };
+
+    @Getter(AccessLevel.NONE)
+    private final DropwizardTest dropwizardTest;
+    private final Map<String, String> properties;
+    private final List<MockContext.MockDefinition> mockDefinitions;
+    private final List<Field> injectableMockFields;
+    private final List<ImportContext.ImportDefinition> importDefinitions;
+    private final MockReset.Policy mockResetPolicy;
+    private final boolean inherited;
+
+    private TestClassMetadata(Class<?> testClass) {
+        var mockFields = MockContext.findMockFields(testClass);
+
+        var declaredDropwizardTest = AnnotationSupport.findAnnotation(testClass, DropwizardTest.class).orElse(null);
+        var enclosing = declaredDropwizardTest == null ? findEnclosingMetadata(testClass) : null;
+        this.inherited = enclosing != null && enclosing.dropwizardTest != null;
+        this.dropwizardTest = inherited ? enclosing.dropwizardTest : declaredDropwizardTest;
+
+        var testProperties = findAnnotations(testClass, TestProperties.class);
+        if (inherited) {
+            // Properties declared by the nested class take precedence over those of the enclosing class
+            var properties = new LinkedHashMap<>(TestContextManager.getProperties(testProperties));
+            enclosing.properties.forEach(properties::putIfAbsent);
+            this.properties = Collections.unmodifiableMap(properties);
+        }
+        else {
+            this.properties = dropwizardTest != null
+                    ? Collections.unmodifiableMap(TestContextManager.getProperties(testProperties, dropwizardTest))
+                    : Map.of();
+        }
+
+        var mockDefinitions = MockContext.findMockDefinitions(MockContext.findClassMockBeans(testClass), mockFields);
+        var importDefinitions = ImportContext.loadImportsFromAnnotations(testClass);
+        var mockResetPolicy = AnnotationSupport.findAnnotation(testClass, MockReset.class).map(MockReset::value);
+
+        // The mocks of the enclosing instance remain in use by the nested class
+        this.mockDefinitions = inherited ? union(enclosing.mockDefinitions, mockDefinitions) : mockDefinitions;
+        this.injectableMockFields = MockContext.findInjectableMockFields(mockFields);
+        this.importDefinitions = inherited ? union(enclosing.importDefinitions, importDefinitions) : importDefinitions;
+        this.mockResetPolicy = mockResetPolicy.orElse(inherited ? enclosing.mockResetPolicy : MockReset.Policy.AFTER_EACH);
+    }
+
+    private static TestClassMetadata findEnclosingMetadata(Class<?> testClass) {
+        var isNested = testClass.getEnclosingClass() != null
+                && !Modifier.isStatic(testClass.getModifiers())
+                && AnnotationSupport.isAnnotated(testClass, Nested.class);
+
+        return isNested ? of(testClass.getEnclosingClass()) : null;
+    }
+
+    private static <T> List<T> union(List<T> first, List<T> second) {
+        var union = new LinkedHashSet<>(first);
+        union.addAll(second);
+        return List.copyOf(union);
+    }
+
+    static TestClassMetadata of(Class<?> testClass) {
+        return METADATA.get(testClass);
+    }
+
+    /**
+     * Returns true if the configuration of this (nested) test class is inherited from its enclosing test class.
+     */
+    boolean isInherited() {
+        return inherited;
+    }
+
+    Optional<DropwizardTest> getDropwizardTest() {
+        return Optional.ofNullable(dropwizardTest);
+    }
+}
@@ -0,0 +1,136 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * <p>
+ * Applies configuration overrides to an in-memory copy of the configuration tree. Each configuration file is read
+ * (through the application's own source provider) and parsed only once per JVM.
+ * </p>
+ * <p>
+ * Overrides follow the same syntax as dropwizard's 'dw.' System property overrides: nested keys are separated by
+ * dots (escape literal dots with a backslash), array elements may be addressed with [index] and values assigned to
+ * an array are split on commas (escape literal commas with a backslash).
+ * </p>
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+class TestConfigurationSourceProvider implements ConfigurationSourceProvider {
+
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final Map<List<Object>, JsonNode> CONFIGURATION_TREES = new ConcurrentHashMap<>();
+
+    private static final Pattern ESCAPED_DOT_SPLIT_PATTERN = Pattern.compile("(?<!\\\\)\\.");
+    private static final Pattern ESCAPED_COMMA_SPLIT_PATTERN = Pattern.compile("(?<!\\\\),");
+    private static final Pattern ARRAY_INDEX_PATTERN = Pattern.compile(".+\\[\\d+]$");
+
+    private final ConfigurationSourceProvider delegate;
+    private final Map<String, String> configOverrides;
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        var configurationTree = getConfigurationTree(path);
+        if (!configurationTree.isObject()) {
+            // Let dropwizard report empty or otherwise invalid configuration files
+            return delegate.open(path);
+        }
+
+        var node = configurationTree.deepCopy();
+        configOverrides.forEach((name, value) -> addOverride(node, name, value));
+
+        // JSON is a subset of YAML; this can be consumed by both the yaml and json configuration factories
+        return new ByteArrayInputStream(JSON_MAPPER.writeValueAsBytes(node));
+    }
+
+    private JsonNode getConfigurationTree(String path) {
+        var cacheKey = List.<Object>of(delegate.getClass(), path);
+        return CONFIGURATION_TREES.computeIfAbsent(cacheKey, k -> {
+            try (var inputStream = delegate.open(path)) {
+                var node = YAML_MAPPER.readTree(inputStream);
+                return node == null ? YAML_MAPPER.missingNode() : node;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Unable to read configuration file: " + path, e);
+            }
+        });
+    }
+
+    static void addOverride(JsonNode root, String name, String value) {
+        var parts = Arrays.stream(ESCAPED_DOT_SPLIT_PATTERN.split(name))
+                .map(part -> part.replace("\\.", "."))
+                .collect(Collectors.toList());
+
+        var node = root;
+        for (int i = 0; i < parts.size(); i++) {
+            if (!(node instanceof ObjectNode)) {
+                throw new IllegalArgumentException("Unable to override " + name + "; it's not a valid path.");
+            }
+
+            var objectNode = (ObjectNode) node;
+            var key = parts.get(i);
+            var lastPart = i == parts.size() - 1;
+
+            if (ARRAY_INDEX_PATTERN.matcher(key).matches()) {
+                var indexStart = key.indexOf('[');
+                var index = Integer.parseInt(key.substring(indexStart + 1, key.length() - 1));
+                var child = objectNode.get(key.substring(0, indexStart));
+                if (child == null) {
+                    throw new IllegalArgumentException("Unable to override " + name + "; node with index not found.");
+                }
+                if (!child.isArray()) {
+                    throw new IllegalArgumentException("Unable to override " + name + "; node with index is not an array.");
+                }
+                if (index >= child.size()) {
+                    throw new IllegalArgumentException("Unable to override " + name + "; index is greater than size of array.");
+                }
+
+                if (lastPart) {
+                    ((ArrayNode) child).set(index, TextNode.valueOf(value));
+                    return;
+                }
+
+                node = child.get(index);
+            }
+            else if (!lastPart) {
+                var child = objectNode.get(key);
+                if (child == null) {
+                    child = objectNode.putObject(key);
+                }
+                if (child.isArray()) {
+                    throw new IllegalArgumentException("Unable to override " + name + "; target is an array but no index specified.");
+                }
+
+                node = child;
+            }
+            else if (objectNode.path(key).isArray()) {
+                var arrayNode = objectNode.putArray(key);
+                for (var element : ESCAPED_COMMA_SPLIT_PATTERN.split(value)) {
+                    arrayNode.add(element.replace("\\,", ","));
+                }
+            }
+            else {
+                objectNode.put(key, value);
+            }
+        }
+    }
+}
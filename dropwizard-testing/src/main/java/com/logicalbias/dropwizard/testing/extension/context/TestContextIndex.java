@@ -0,0 +1,92 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * The index of @DropwizardTest classes generated at compile time by the optional dropwizard-testing-processor annotation
+ * processor. Each entry records the context fingerprint of a test class; equal fingerprints declare equal applications,
+ * which lets the {@link ContextPrewarmListener} resolve a single context key per group of test classes before any of
+ * them runs.
+ * </p>
+ * <p>
+ * The index is a properties file of {@code <test class>.fingerprint=<value>} entries; every index on the classpath is
+ * read. The fingerprint is only a grouping hint: the metadata of a test class (and therefore the application it runs
+ * with) is always read from the class itself, so an outdated index at worst prewarms the wrong application.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class TestContextIndex {
+
+    static final String INDEX_LOCATION = "META-INF/dropwizard-testing/test-context.index";
+    static final String FINGERPRINT = "fingerprint";
+
+    private static final Map<ClassLoader, TestContextIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final TestContextIndex EMPTY = new TestContextIndex(Map.of());
+
+    private final Map<String, String> fingerprints;
+
+    /**
+     * Returns the indexed context fingerprint of the given test class, if its class loader provides one.
+     */
+    static Optional<String> findFingerprint(Class<?> testClass) {
+        var classLoader = testClass.getClassLoader();
+        if (classLoader == null) {
+            return Optional.empty();
+        }
+
+        var index = INDEXES.computeIfAbsent(classLoader, TestContextIndex::load);
+        return Optional.ofNullable(index.fingerprints.get(testClass.getName()));
+    }
+
+    private static TestContextIndex load(ClassLoader classLoader) {
+        var properties = new HashMap<String, String>();
+        try {
+            var resources = classLoader.getResources(INDEX_LOCATION);
+            while (resources.hasMoreElements()) {
+                var resource = resources.nextElement();
+                try (var inputStream = resource.openStream()) {
+                    var indexProperties = new Properties();
+                    indexProperties.load(inputStream);
+
+                    // Like classes, the first index on the classpath declaring a test class wins
+                    indexProperties.stringPropertyNames()
+                            .forEach(name -> properties.putIfAbsent(name, indexProperties.getProperty(name)));
+                }
+            }
+        }
+        catch (IOException e) {
+            log.warn("Failed to read the @DropwizardTest index; test classes will not be grouped before they run.", e);
+            return EMPTY;
+        }
+
+        return properties.isEmpty() ? EMPTY : new TestContextIndex(parse(properties));
+    }
+
+    /**
+     * Returns the fingerprints of the given index properties by test class name; other attributes are ignored.
+     */
+    static Map<String, String> parse(Map<String, String> properties) {
+        var fingerprints = new HashMap<String, String>();
+        properties.forEach((name, value) -> {
+            if (name.endsWith("." + FINGERPRINT)) {
+                fingerprints.put(StringUtils.removeEnd(name, "." + FINGERPRINT), value);
+            }
+        });
+
+        return Map.copyOf(fingerprints);
+    }
+}
@@ -1,8 +1,6 @@
 package com.logicalbias.dropwizard.testing.extension.context;
 
-import io.dropwizard.core.Application;
 import io.dropwizard.core.Configuration;
-import io.dropwizard.testing.ConfigOverride;
 import io.dropwizard.testing.ResourceHelpers;
 import io.dropwizard.testing.junit5.DropwizardAppExtension;
 import lombok.AccessLevel;
@@ -10,109 +8,258 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
-import org.glassfish.hk2.api.ServiceLocator;
-import org.glassfish.jersey.servlet.ServletContainer;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
-import org.junit.platform.commons.support.AnnotationSupport;
 
+import com.logicalbias.dropwizard.testing.extension.annotation.MockReset;
 import com.logicalbias.dropwizard.testing.extension.annotation.TestProperties;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
 import com.logicalbias.dropwizard.testing.extension.utils.TestHelpers;
 
-import static com.logicalbias.dropwizard.testing.extension.utils.TestHelpers.buildClassInheritanceTree;
-import static com.logicalbias.dropwizard.testing.extension.utils.TestHelpers.findAnnotations;
-
 @Slf4j
 @Getter(AccessLevel.PACKAGE)
 class TestContextManager {
 
+    static final String VIRTUAL_THREADS_PROPERTY_NAME = "server.enableVirtualThreads";
+
     private static final Namespace NAMESPACE = Namespace.create(TestContextManager.class);
+    private static final ExecutorService STARTUP_EXECUTOR = Executors.newCachedThreadPool(new StartupThreadFactory());
 
     private final ExtensionContext context;
+    // Manager of the enclosing test class when this is a @Nested class inheriting its configuration
+    private final TestContextManager parent;
     private final DependencyContext dependencyContext;
-    private final MockContext mockContext;
     private final ImportContext importContext;
-    private final List<ConfigOverride> configOverrides;
+    private final MockContext mockContext;
+    private final MockReset.Policy mockResetPolicy;
+    private final Map<String, String> propertyOverrides;
 
-    private DropwizardAppExtension<?> appExtension;
+    private volatile boolean frozen;
+    private volatile boolean sharesParentApplication;
+    private volatile CompletableFuture<ApplicationContext> applicationContext;
 
     static TestContextManager from(ExtensionContext context) {
         var testClass = context.getRequiredTestClass();
         return getStore(context)
-                .getOrComputeIfAbsent(testClass, k -> new TestContextManager(context), TestContextManager.class);
+                .getOrComputeIfAbsent(testClass, k -> new TestContextManager(context, findParent(context)), TestContextManager.class);
+    }
+
+    private static TestContextManager findParent(ExtensionContext context) {
+        var testClass = context.getRequiredTestClass();
+        if (!TestClassMetadata.of(testClass).isInherited()) {
+            return null;
+        }
+
+        var enclosingClass = testClass.getEnclosingClass();
+        var parentContext = context.getParent();
+        while (parentContext.isPresent() && parentContext.get().getTestClass().filter(enclosingClass::equals).isEmpty()) {
+            parentContext = parentContext.get().getParent();
+        }
+        return parentContext.map(TestContextManager::from).orElse(null);
     }
 
     private static ExtensionContext.Store getStore(ExtensionContext context) {
         return context.getRoot().getStore(NAMESPACE);
     }
 
-    private TestContextManager(ExtensionContext context) {
+    private TestContextManager(ExtensionContext context, TestContextManager parent) {
         this.context = context;
+        this.parent = parent;
         this.dependencyContext = new DependencyContext();
-        this.mockContext = new MockContext(context);
         this.importContext = new ImportContext(context);
-        this.configOverrides = new ArrayList<>();
+        var metadata = TestClassMetadata.of(context.getRequiredTestClass());
+        this.mockContext = new MockContext(metadata.getMockDefinitions(), parent != null ? parent.mockContext : null);
+        this.mockResetPolicy = metadata.getMockResetPolicy();
+        this.propertyOverrides = Collections.synchronizedMap(new LinkedHashMap<>());
+    }
+
+    <T> void registerDependency(Class<T> classType, String name, T instance) {
+        warnIfFrozen("Dependency [" + classType.getName() + "]");
+        dependencyContext.add(classType, name, instance);
     }
 
     void overrideProperty(String key, String value) {
-        configOverrides.add(ConfigOverride.config(key, value));
+        warnIfFrozen("Property [" + key + "]");
+        propertyOverrides.put(key, value);
     }
 
-    private DropwizardAppExtension<?> initialize() {
-        if (appExtension != null) {
-            return appExtension;
+    private void warnIfFrozen(String registration) {
+        if (frozen) {
+            log.warn("{} was registered after the application for {} began starting and may not be applied. "
+                    + "Extensions should register with ExtensionHooks no later than the beforeAll callback.",
+                    registration, context.getRequiredTestClass().getName());
+        }
+    }
+
+    /**
+     * Starts (or acquires) the test application in the background. This is invoked once all beforeAll callbacks
+     * have run (and therefore all ExtensionHooks registrations are in place) so the application boots while the
+     * test instance is constructed and other extensions perform their own setup.
+     */
+    void startAsync() {
+        if (applicationContext != null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (applicationContext == null) {
+                frozen = true;
+                applicationContext = CompletableFuture.supplyAsync(this::acquireApplicationContext, STARTUP_EXECUTOR);
+            }
+        }
+    }
+
+    private ApplicationContext initialize() {
+        var applicationContext = this.applicationContext;
+        if (applicationContext == null) {
+            synchronized (this) {
+                if (this.applicationContext == null) {
+                    // Something required the application before startAsync was invoked (e.g. constructor
+                    // parameters with a PER_CLASS lifecycle); start it on the calling thread instead.
+                    frozen = true;
+                    this.applicationContext = CompletableFuture.completedFuture(acquireApplicationContext());
+                }
+                applicationContext = this.applicationContext;
+            }
         }
 
         try {
-            // This initializes the test application using any properties, dependencies, mocks, etc. that have
-            // been registered with the TestContext at this point. We try to initialize as late as possible
-            // to allow other extensions the ability to add/update this data instead of directly calling
-            // beforeAll inside the junit beforeAll hook (typically called during parameter resolution
-            // or in the first beforeEach block).
-            appExtension = createDropwizardAppExtension(context, configOverrides)
-                    .addListener(new TestServiceListener<>(this));
+            return applicationContext.join();
+        }
+        catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new RuntimeException(e.getCause());
+        }
+    }
+
+    private ApplicationContext acquireApplicationContext() {
+        // This initializes the test application using any properties, dependencies, mocks, etc. that have
+        // been registered with the TestContext at this point. We try to initialize as late as possible
+        // to allow other extensions the ability to add/update this data instead of directly calling
+        // beforeAll inside the junit beforeAll hook (typically called during parameter resolution
+        // or in the first beforeEach block). If an equivalent application is already running, it is reused.
+        var contextCache = ContextCache.from(context);
+        var concurrent = contextCache.isConcurrent();
+        var key = createContextKey(concurrent);
+
+        // A @Nested class runs while its enclosing class holds the application; use it unless the nested class
+        // requires a different one. Concurrently running classes each lease their own application.
+        if (parent != null && !concurrent && dependencyContext.isEmpty()) {
+            var parentApplicationContext = parent.initialize();
+            if (contextCache.canServe(parentApplicationContext, key)) {
+                sharesParentApplication = true;
+                recordAcquired(contextCache, parentApplicationContext, SuiteReport.Reuse.ENCLOSING);
+                return parentApplicationContext;
+            }
+        }
+
+        // The factory is only invoked when no cached application can serve the key
+        var booted = new AtomicBoolean();
+        var applicationContext = contextCache.acquire(key, contextKey -> {
+            booted.set(true);
+            return new ApplicationContext(contextKey, importContext, dependencyContext, contextCache.getProfiledServices());
+        });
 
-            appExtension.beforeAll(context);
-            return appExtension;
+        try {
+            applicationContext.start();
+            recordAcquired(contextCache, applicationContext, booted.get() ? SuiteReport.Reuse.BOOTED : SuiteReport.Reuse.CACHED);
+            return applicationContext;
         }
         catch (Exception e) {
+            contextCache.discard(applicationContext);
+            contextCache.release(applicationContext);
             throw new RuntimeException(e);
         }
     }
 
+    private void recordAcquired(ContextCache contextCache, ApplicationContext applicationContext, SuiteReport.Reuse reuse) {
+        var suiteReport = contextCache.getSuiteReport();
+        if (suiteReport != null) {
+            suiteReport.recordAcquired(context.getRequiredTestClass(), applicationContext, reuse);
+        }
+    }
+
     void afterConstructor(Object testInstance) {
-        mockContext.injectTestInstanceMocks(testInstance,
+        MockContext.injectTestInstanceMocks(testInstance,
                 (type, parameterizedType) -> getBean(type, parameterizedType, null));
     }
 
     void beforeEach() throws Exception {
-        initialize().before();
+        var applicationContext = initialize();
+
+        // The application may be shared with other test classes; route its mock proxies to this class's mocks
+        applicationContext.getMockProxyContext().retarget(mockContext);
+        applicationContext.getAppExtension().before();
     }
 
     void afterEach() {
-        mockContext.resetMocks();
-        appExtension.after();
+        if (mockResetPolicy == MockReset.Policy.AFTER_EACH) {
+            mockContext.resetMocks();
+        }
+        initialize().getAppExtension().after();
     }
 
     void afterAll() {
+        if (mockResetPolicy == MockReset.Policy.AFTER_CLASS) {
+            mockContext.resetMocks();
+        }
+
         try {
-            appExtension.afterAll(context);
+            var applicationContext = getStartedApplicationContext();
+            // A shared parent application is released by the enclosing class
+            if (applicationContext != null && !sharesParentApplication) {
+                ContextCache.from(context).release(applicationContext);
+            }
         }
         finally {
             getStore(context).remove(context.getRequiredTestClass());
         }
     }
 
+    /**
+     * Waits for any in-flight startup and returns the started application (or null if it never started).
+     */
+    private ApplicationContext getStartedApplicationContext() {
+        var applicationContext = this.applicationContext;
+        if (applicationContext == null) {
+            return null;
+        }
+
+        try {
+            return applicationContext.join();
+        }
+        catch (CompletionException e) {
+            // Startup failures were already reported to (and cleaned up for) the tests requiring the application
+            return null;
+        }
+    }
+
     DropwizardAppExtension<?> getAppExtension() {
-        return initialize();
+        return initialize().getAppExtension();
+    }
+
+    TestClient createTestClient() {
+        return initialize().createTestClient();
+    }
+
+    StartupReport getStartupReport() {
+        return initialize().getStartupReport();
     }
 
     /**
@@ -120,7 +267,14 @@ class TestContextManager {
      */
     @SuppressWarnings("unchecked")
     <T> T getBean(Class<T> rawType, Type parameterizedType, String beanName) {
-        var appExtension = initialize();
+        // Mocks belong to the test class rather than the (possibly shared) application
+        var mock = mockContext.findMock(parameterizedType, beanName);
+        if (mock != null) {
+            return (T) mock;
+        }
+
+        var applicationContext = initialize();
+        var appExtension = applicationContext.getAppExtension();
 
         if (rawType == DropwizardAppExtension.class) {
             return (T) appExtension;
@@ -130,36 +284,63 @@ class TestContextManager {
             return (T) appExtension.getConfiguration();
         }
 
-        var serviceLocator = getServiceLocator(appExtension);
-        var bean = serviceLocator.getService(parameterizedType, beanName);
-        if (bean != null) {
-            return (T) bean;
+        var bean = applicationContext.findBean(rawType, parameterizedType, beanName);
+        return (T) applicationContext.getMockProxyContext().unwrap(bean, mockContext);
+    }
+
+    /**
+     * Returns whether {@link #getBean(Class, Type, String)} resolves a bean for the specified class type; beans of the DI
+     * context are not provided for this.
+     */
+    boolean hasBean(Class<?> rawType, Type parameterizedType, String beanName) {
+        if (mockContext.findMock(parameterizedType, beanName) != null) {
+            return true;
+        }
+
+        var applicationContext = initialize();
+        if (rawType == DropwizardAppExtension.class || Configuration.class.isAssignableFrom(rawType)) {
+            return true;
         }
 
-        // If no type was registered against this specific interface, we're going to do something dropwizard
-        // doesn't do. Scan up from the type and try to find some other superclass or interface it might've been
-        // registered under.
+        return applicationContext.hasBean(rawType, parameterizedType, beanName);
+    }
 
-        // TODO This still doesn't work quite correctly because context.getInstance() still requires a single type bound to the supertype ...
-        // otherwise, only the first type will be returned... Might have to get more clever and return the list of types given the interface
-        // and scan through and find an exact class match.
-        return buildClassInheritanceTree(rawType).stream()
-                .map(type -> serviceLocator.getService(type, beanName))
-                .filter(rawType::isInstance)
-                .map(rawType::cast)
-                .findFirst()
-                .orElse(null);
+    private ContextKey createContextKey(boolean concurrent) {
+        var testClass = context.getRequiredTestClass();
+        synchronized (propertyOverrides) {
+            return createContextKey(testClass, propertyOverrides, importContext, concurrent);
+        }
     }
 
-    private ServiceLocator getServiceLocator(DropwizardAppExtension<?> appExtension) {
-        var environment = appExtension.getEnvironment();
-        if (environment.getJerseyServletContainer() instanceof ServletContainer) {
-            var container = (ServletContainer) environment.getJerseyServletContainer();
-            var context = container.getApplicationHandler().getInjectionManager();
-            return context.getInstance(ServiceLocator.class);
+    /**
+     * Creates the key identifying the application required by the given test class.
+     *
+     * @param propertyOverrides properties provided by other extensions (e.g. a container endpoint); the properties
+     * declared by the test class take precedence over these.
+     */
+    static ContextKey createContextKey(Class<?> testClass, Map<String, String> propertyOverrides, ImportContext importContext, boolean concurrent) {
+        var metadata = TestClassMetadata.of(testClass);
+        var dropwizardTest = metadata.getDropwizardTest()
+                .orElseThrow(() -> new IllegalStateException("@DropwizardTest annotation was not located for " + testClass.getName()));
+
+        var properties = new LinkedHashMap<>(propertyOverrides);
+        properties.putAll(metadata.getProperties());
+        if (dropwizardTest.virtualThreads()) {
+            properties.put(VIRTUAL_THREADS_PROPERTY_NAME, "true");
         }
 
-        throw new IllegalStateException("Servlet container is not of type " + ServletContainer.class.getName());
+        // Concurrently running applications cannot share the ports defined in the configuration file
+        var webEnvironment = concurrent && dropwizardTest.webEnvironment() == DropwizardTest.WebEnvironment.DEFAULT
+                ? DropwizardTest.WebEnvironment.RANDOM
+                : dropwizardTest.webEnvironment();
+
+        return new ContextKey(
+                dropwizardTest.value(),
+                getConfigFile(dropwizardTest),
+                webEnvironment,
+                properties,
+                metadata.getMockDefinitions(),
+                importContext.getDefinitions());
     }
 
     // ********************************************************************************
@@ -167,26 +348,7 @@ class TestContextManager {
     // ********************************************************************************
 
     static Optional<DropwizardTest> getDropwizardTestAnnotation(ExtensionContext context) {
-        var testClass = context.getRequiredTestClass();
-        return AnnotationSupport.findAnnotation(testClass, DropwizardTest.class);
-    }
-
-    @SuppressWarnings("unchecked")
-    static <C extends Configuration> DropwizardAppExtension<C> createDropwizardAppExtension(ExtensionContext context, List<ConfigOverride> configOverrides) {
-        var testClass = context.getRequiredTestClass();
-        var dropwizardTest = getDropwizardTestAnnotation(context)
-                .orElseThrow(() -> new IllegalStateException("@DropwizardTest annotation was not located for " + testClass.getName()));
-
-        var applicationClass = (Class<? extends Application<C>>) dropwizardTest.value();
-        var configFile = getConfigFile(dropwizardTest);
-        log.info("Initializing @DropwizardTest application context [configFile={}].", configFile);
-
-        if (dropwizardTest.webEnvironment() == DropwizardTest.WebEnvironment.RANDOM) {
-            configOverrides.add(ConfigOverride.randomPorts());
-        }
-
-        configOverrides.addAll(getPropertyOverrides(testClass, dropwizardTest));
-        return new DropwizardAppExtension<>(applicationClass, configFile, configOverrides.toArray(ConfigOverride[]::new));
+        return TestClassMetadata.of(context.getRequiredTestClass()).getDropwizardTest();
     }
 
     static String getConfigFile(DropwizardTest dropwizardTest) {
@@ -196,25 +358,45 @@ class TestContextManager {
                 : configFile;
     }
 
-    static List<ConfigOverride> getPropertyOverrides(Class<?> testClass, DropwizardTest dropwizardTest) {
-        var properties = new LinkedHashMap<String, String>();
+    /**
+     * Resolves the declared properties of a test class from its @TestProperties annotations (in inheritance order) and
+     * its @DropwizardTest annotation.
+     */
+    static Map<String, String> getProperties(List<TestProperties> testProperties, DropwizardTest dropwizardTest) {
+        // Apply @TestProperties annotations first; these take precedence over other configured properties
+        var properties = getProperties(testProperties);
 
-        // Scan for @TestProperties annotations first; these take precedence over other configured properties
-        findAnnotations(testClass, TestProperties.class).stream()
-                .flatMap(testProperties -> Arrays.stream(testProperties.properties()))
+        // Now scan for properties on the DropwizardTest annotation
+        Arrays.stream(dropwizardTest.properties())
                 .map(TestHelpers::splitProperty)
                 .filter(props -> StringUtils.isNoneBlank(props[0], props[1]))
                 .forEach(props -> properties.putIfAbsent(props[0], props[1]));
 
-        // Now scan for properties on the DropwizardTest annotation
-        Arrays.stream(dropwizardTest.properties())
+        return properties;
+    }
+
+    /**
+     * Resolves the properties declared by the given @TestProperties annotations (in inheritance order).
+     */
+    static Map<String, String> getProperties(List<TestProperties> testProperties) {
+        var properties = new LinkedHashMap<String, String>();
+        testProperties.stream()
+                .flatMap(annotation -> Arrays.stream(annotation.properties()))
                 .map(TestHelpers::splitProperty)
                 .filter(props -> StringUtils.isNoneBlank(props[0], props[1]))
                 .forEach(props -> properties.putIfAbsent(props[0], props[1]));
 
-        return properties.entrySet().stream()
-                .map(props -> ConfigOverride.config(props.getKey(), props.getValue()))
-                .collect(Collectors.toList());
+        return properties;
     }
 
+    private static class StartupThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadIds = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "dropwizard-test-startup-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.core.Application;
+import io.dropwizard.core.Configuration;
+import io.dropwizard.core.cli.ServerCommand;
+import io.dropwizard.core.server.DefaultServerFactory;
+import io.dropwizard.core.server.ServerFactory;
+import io.dropwizard.core.server.SimpleServerFactory;
+import io.dropwizard.core.setup.Bootstrap;
+import io.dropwizard.core.setup.Environment;
+import io.dropwizard.jetty.ConnectorFactory;
+import io.dropwizard.jetty.HttpConnectorFactory;
+import lombok.RequiredArgsConstructor;
+import net.sourceforge.argparse4j.inf.Namespace;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+/**
+ * Server command used to run every test application. Configuration overrides are applied in memory on top of the
+ * configuration provided by the application's own {@link io.dropwizard.configuration.ConfigurationSourceProvider}
+ * rather than through (JVM global) System properties.
+ */
+class TestServerCommand<C extends Configuration> extends ServerCommand<C> {
+
+    private final Map<String, String> configOverrides;
+    private final DropwizardTest.WebEnvironment webEnvironment;
+    private final Path socketPath;
+    private final StartupRecorder startupRecorder;
+
+    TestServerCommand(Application<C> application, Map<String, String> configOverrides, DropwizardTest.WebEnvironment webEnvironment,
+            Path socketPath, StartupRecorder startupRecorder) {
+        super(application);
+        this.configOverrides = configOverrides;
+        this.webEnvironment = webEnvironment;
+        this.socketPath = socketPath;
+        this.startupRecorder = startupRecorder;
+    }
+
+    @Override
+    public void run(Bootstrap<?> bootstrap, Namespace namespace) throws Exception {
+        // At this point the application has been initialized; wrap whichever source provider it configured
+        startupRecorder.mark(StartupReport.Phase.INITIALIZE);
+        var sourceProvider = bootstrap.getConfigurationSourceProvider();
+        bootstrap.setConfigurationSourceProvider(new TestConfigurationSourceProvider(sourceProvider, configOverrides));
+
+        super.run(bootstrap, namespace);
+    }
+
+    @Override
+    protected void run(Bootstrap<C> bootstrap, Namespace namespace, C configuration) throws Exception {
+        startupRecorder.mark(StartupReport.Phase.CONFIGURATION);
+        super.run(bootstrap, namespace, configuration);
+    }
+
+    @Override
+    protected void run(Environment environment, Namespace namespace, C configuration) throws Exception {
+        startupRecorder.mark(StartupReport.Phase.APPLICATION);
+        timeServerStartup(environment);
+
+        if (webEnvironment == DropwizardTest.WebEnvironment.IN_MEMORY || webEnvironment == DropwizardTest.WebEnvironment.NONE) {
+            configuration.setServerFactory(new ConnectorlessServerFactory(configuration.getServerFactory()));
+        }
+        else if (webEnvironment == DropwizardTest.WebEnvironment.RANDOM) {
+            bindRandomPorts(configuration.getServerFactory(), true);
+        }
+        else if (webEnvironment == DropwizardTest.WebEnvironment.UNIX_SOCKET) {
+            bindRandomPorts(configuration.getServerFactory(), false);
+            bindApplicationConnector(configuration.getServerFactory());
+        }
+
+        super.run(environment, namespace, configuration);
+        startupRecorder.mark(StartupReport.Phase.SERVER);
+    }
+
+    private void timeServerStartup(Environment environment) {
+        environment.lifecycle().getManagedObjects()
+                .forEach(managedObject -> startupRecorder.timeStart(managedObject, StartupReport.Phase.MANAGED_OBJECTS));
+
+        // Connectors only exist once the server is built; they are started after everything else the server contains
+        environment.lifecycle().addEventListener(new LifeCycle.Listener() {
+            @Override
+            public void lifeCycleStarting(LifeCycle server) {
+                for (var connector : ((Server) server).getConnectors()) {
+                    startupRecorder.timeStart(connector, StartupReport.Phase.CONNECTORS);
+                }
+            }
+        });
+    }
+
+    /**
+     * Binds the first admin (and application) connector of the server to a random port, unless the test overrides the
+     * port itself. The connectors are configured per server factory type, so this is done on the built configuration
+     * rather than through overrides of the configuration tree.
+     */
+    private void bindRandomPorts(ServerFactory serverFactory, boolean applicationConnector) {
+        if (serverFactory instanceof DefaultServerFactory) {
+            var defaultServerFactory = (DefaultServerFactory) serverFactory;
+            if (applicationConnector) {
+                bindRandomPort(defaultServerFactory.getApplicationConnectors(), "server.applicationConnectors[0].port");
+            }
+            bindRandomPort(defaultServerFactory.getAdminConnectors(), "server.adminConnectors[0].port");
+        }
+        else if (serverFactory instanceof SimpleServerFactory && applicationConnector) {
+            // The admin context is served by the single (application) connector
+            bindRandomPort(List.of(((SimpleServerFactory) serverFactory).getConnector()), "server.connector.port");
+        }
+    }
+
+    private void bindRandomPort(List<ConnectorFactory> connectors, String portOverride) {
+        if (!connectors.isEmpty() && connectors.get(0) instanceof HttpConnectorFactory && !configOverrides.containsKey(portOverride)) {
+            ((HttpConnectorFactory) connectors.get(0)).setPort(0);
+        }
+    }
+
+    private void bindApplicationConnector(ServerFactory serverFactory) {
+        if (serverFactory instanceof DefaultServerFactory) {
+            var defaultServerFactory = (DefaultServerFactory) serverFactory;
+            var connectors = new ArrayList<>(defaultServerFactory.getApplicationConnectors());
+            connectors.set(0, new UnixSocketConnectorFactory(connectors.get(0), socketPath));
+            defaultServerFactory.setApplicationConnectors(connectors);
+        }
+        else if (serverFactory instanceof SimpleServerFactory) {
+            var simpleServerFactory = (SimpleServerFactory) serverFactory;
+            simpleServerFactory.setConnector(new UnixSocketConnectorFactory(simpleServerFactory.getConnector(), socketPath));
+        }
+        else {
+            throw new IllegalStateException("The UNIX_SOCKET web environment is not supported by server factory "
+                    + serverFactory.getClass().getName());
+        }
+    }
+
+    /**
+     * Builds the server as configured but without any of its connectors; the server (and therefore the Jersey
+     * application) is still started, it just never binds a port. Without connectors no requests are run on the server's
+     * thread pool, so only a single pool thread is started up front.
+     */
+    @RequiredArgsConstructor
+    private static class ConnectorlessServerFactory implements ServerFactory {
+        private final ServerFactory serverFactory;
+
+        @Override
+        public Server build(Environment environment) {
+            var server = serverFactory.build(environment);
+            for (var connector : server.getConnectors()) {
+                server.removeConnector(connector);
+            }
+
+            if (server.getThreadPool() instanceof QueuedThreadPool) {
+                var threadPool = (QueuedThreadPool) server.getThreadPool();
+                threadPool.setMinThreads(1);
+            }
+            return server;
+        }
+
+        @Override
+        public void configure(Environment environment) {
+            serverFactory.configure(environment);
+        }
+    }
+}
@@ -9,8 +9,14 @@ import lombok.RequiredArgsConstructor;
 
 import java.lang.reflect.Type;
 
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.api.InstanceLifecycleListener;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.hk2.utilities.binding.ServiceBindingBuilder;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
 
 /**
  * ServiceListener will run before the target application 'run' method is invoked on service startup. This listener
@@ -20,36 +26,57 @@ import org.glassfish.hk2.utilities.binding.ServiceBindingBuilder;
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 class TestServiceListener<C extends Configuration> extends DropwizardAppExtension.ServiceListener<C> {
 
-    private final TestContextManager testContextManager;
+    private final ApplicationContext applicationContext;
 
     @Override
     public void onRun(C configuration, Environment environment, DropwizardAppExtension<C> rule) {
+        var startupRecorder = applicationContext.getStartupRecorder();
+        startupRecorder.mark(StartupReport.Phase.BUNDLES);
+        environment.jersey().register(new JerseyStartupListener(startupRecorder));
+        environment.jersey().register(applicationContext.getRequestTimings());
+
         // First look for imported classes and register them directly as a jersey component
-        testContextManager.getImportContext().forEach(importDef -> {
+        applicationContext.getImportContext().forEach(importDef -> {
             environment.jersey().register(importDef.type());
         });
 
-        environment.jersey().register(new TestBinder(testContextManager));
+        environment.jersey().register(new TestBinder(applicationContext));
     }
 
     @RequiredArgsConstructor
     private static class TestBinder extends AbstractBinder {
 
-        private final TestContextManager testContextManager;
+        private final ApplicationContext applicationContext;
 
         @Override
         protected void configure() {
-            // Bind mocks first; this ensures mocks for dependencies being provided
+            var started = System.nanoTime();
+            bindTestDependencies();
+            applicationContext.getStartupRecorder().add(StartupReport.Phase.HK2_BINDING, System.nanoTime() - started);
+        }
+
+        private void bindTestDependencies() {
+            // Services created from here on are timed; see ServiceProfiler
+            if (applicationContext.getServiceProfiler() != null) {
+                bind(applicationContext.getServiceProfiler()).to(InstanceLifecycleListener.class);
+            }
+
+            // Bind mock proxies first; this ensures mocks for dependencies being provided
             // from other extensions will be the primary dependency in the DI context.
-            testContextManager.getMockContext().forEach(this::bind);
-            testContextManager.getDependencyContext().forEach(this::bind);
+            applicationContext.getMockProxyContext().forEach(this::bind);
+            applicationContext.getDependencyContext().forEach(this::bind);
 
-            testContextManager.getImportContext().forEach(this::bind);
+            applicationContext.getImportContext().forEach(this::bind);
         }
 
-        @SuppressWarnings("unchecked")
-        private <T> void bind(MockContext.MockDefinition mockDefinition, T mock) {
-            bind(mockDefinition.type(), mockDefinition.name(), mock);
+        private void bind(MockContext.MockDefinition mockDefinition, Factory<Object> mockProxy) {
+            var name = mockDefinition.name();
+            bindFactory(mockProxy)
+                    .to(mockDefinition.type())
+                    .named(name == null || name.isBlank() ? null : name)
+                    .withMetadata(MockProxyContext.PROXY_METADATA_KEY, mockDefinition.type().getTypeName())
+                    .in(Singleton.class)
+                    .ranked(Integer.MAX_VALUE);
         }
 
         private <T> void bind(ImportContext.ImportDefinition importDefinition) {
@@ -72,11 +99,37 @@ class TestServiceListener<C extends Configuration> extends DropwizardAppExtensio
         }
 
         @SuppressWarnings("unchecked")
-        private <T> void bind(Type type, String name, T instance) {
+        private <T> ServiceBindingBuilder<T> bind(Type type, String name, T instance) {
             var binding = (ServiceBindingBuilder<T>) bind(instance);
             binding.to(type)
                     .named(name == null || name.isBlank() ? null : name)
                     .ranked(Integer.MAX_VALUE);
+            return binding;
+        }
+    }
+
+    /**
+     * Times the initialization of the Jersey application.
+     */
+    @RequiredArgsConstructor
+    private static class JerseyStartupListener implements ApplicationEventListener {
+
+        private final StartupRecorder startupRecorder;
+        private long started;
+
+        @Override
+        public void onEvent(ApplicationEvent event) {
+            if (event.getType() == ApplicationEvent.Type.INITIALIZATION_START) {
+                started = System.nanoTime();
+            }
+            else if (event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED) {
+                startupRecorder.add(StartupReport.Phase.JERSEY, System.nanoTime() - started);
+            }
+        }
+
+        @Override
+        public RequestEventListener onRequest(RequestEvent requestEvent) {
+            return null;
         }
     }
 }
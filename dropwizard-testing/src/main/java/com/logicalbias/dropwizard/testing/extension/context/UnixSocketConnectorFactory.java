@@ -0,0 +1,49 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.jetty.ConnectorFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.unixdomain.server.UnixDomainServerConnector;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Builds the configured application connector and re-binds its connection factories (HTTP configuration,
+ * instrumentation, ...) to a Unix domain socket. The connector replaces the configured one in place, so dropwizard's
+ * routing of the connector to the application handler is unaffected.
+ */
+@RequiredArgsConstructor
+class UnixSocketConnectorFactory implements ConnectorFactory {
+
+    private final ConnectorFactory connectorFactory;
+    private final Path socketPath;
+
+    @Override
+    public Connector build(Server server, MetricRegistry metrics, String name, ThreadPool threadPool) {
+        var connector = connectorFactory.build(server, metrics, name, threadPool);
+        if (!(connector instanceof AbstractConnector)) {
+            throw new IllegalStateException("Connector is not of type " + AbstractConnector.class.getName());
+        }
+
+        var configured = (AbstractConnector) connector;
+        var selectors = configured instanceof ServerConnector
+                ? ((ServerConnector) configured).getSelectorManager().getSelectorCount()
+                : -1;
+
+        var unixSocketConnector = new UnixDomainServerConnector(server, configured.getExecutor(), configured.getScheduler(),
+                configured.getByteBufferPool(), configured.getAcceptors(), selectors,
+                configured.getConnectionFactories().toArray(ConnectionFactory[]::new));
+        unixSocketConnector.setUnixDomainPath(socketPath);
+        unixSocketConnector.setIdleTimeout(configured.getIdleTimeout());
+        unixSocketConnector.setName(configured.getName());
+        return unixSocketConnector;
+    }
+}
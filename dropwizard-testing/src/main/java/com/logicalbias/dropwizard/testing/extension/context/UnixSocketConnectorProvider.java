@@ -0,0 +1,135 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.HttpHeaders;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.client.util.BytesRequestContent;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.io.ClientConnector;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.message.internal.Statuses;
+
+/**
+ * Jersey client connector sending requests over a Unix domain socket through a Jetty {@link HttpClient}. Only the
+ * transport differs from a regular HTTP connector; the host of the request URI is sent but otherwise ignored.
+ */
+@RequiredArgsConstructor
+class UnixSocketConnectorProvider implements ConnectorProvider {
+
+    private final Path socketPath;
+
+    @Override
+    public Connector getConnector(Client client, Configuration runtimeConfig) {
+        var httpClient = new HttpClient(new HttpClientTransportOverHTTP(ClientConnector.forUnixDomain(socketPath)));
+        // Responses are handed to Jersey exactly as received (as with the default connector); no transparent decoding
+        httpClient.getContentDecoderFactories().clear();
+        httpClient.setFollowRedirects(ClientProperties.getValue(runtimeConfig.getProperties(), ClientProperties.FOLLOW_REDIRECTS, true));
+        httpClient.setConnectTimeout(ClientProperties.getValue(runtimeConfig.getProperties(), ClientProperties.CONNECT_TIMEOUT, 0));
+        try {
+            httpClient.start();
+        }
+        catch (Exception e) {
+            throw new ProcessingException("Failed to start the unix socket client.", e);
+        }
+
+        var readTimeout = ClientProperties.getValue(runtimeConfig.getProperties(), ClientProperties.READ_TIMEOUT, 0);
+        return new UnixSocketConnector(httpClient, readTimeout > 0 ? readTimeout : Long.MAX_VALUE);
+    }
+
+    @RequiredArgsConstructor
+    private static class UnixSocketConnector implements Connector {
+        private final HttpClient httpClient;
+        private final long readTimeout;
+
+        @Override
+        public ClientResponse apply(ClientRequest clientRequest) {
+            var request = httpClient.newRequest(clientRequest.getUri())
+                    .method(clientRequest.getMethod());
+
+            // Entity providers may add headers (e.g. Content-Type) while writing; serialize the entity first
+            if (clientRequest.hasEntity()) {
+                var entityStream = new ByteArrayOutputStream();
+                clientRequest.setStreamProvider(contentLength -> entityStream);
+                try {
+                    clientRequest.writeEntity();
+                }
+                catch (IOException e) {
+                    throw new ProcessingException("Failed to serialize the request entity.", e);
+                }
+                request.body(new BytesRequestContent(clientRequest.getHeaderString(HttpHeaders.CONTENT_TYPE), entityStream.toByteArray()));
+            }
+            request.headers(headers -> clientRequest.getStringHeaders()
+                    .forEach((name, values) -> values.forEach(value -> headers.add(name, value))));
+
+            try {
+                var listener = new InputStreamResponseListener();
+                request.send(listener);
+                var response = listener.get(readTimeout, TimeUnit.MILLISECONDS);
+
+                var clientResponse = new ClientResponse(Statuses.from(response.getStatus(), response.getReason()), clientRequest);
+                response.getHeaders().forEach(field -> clientResponse.getHeaders().add(field.getName(), field.getValue()));
+                clientResponse.setEntityStream(listener.getInputStream());
+                return clientResponse;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                request.abort(e);
+                throw new ProcessingException(e);
+            }
+            catch (TimeoutException e) {
+                request.abort(e);
+                throw new ProcessingException(e);
+            }
+            catch (ExecutionException e) {
+                throw new ProcessingException(e.getCause());
+            }
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest clientRequest, AsyncConnectorCallback callback) {
+            try {
+                var clientResponse = apply(clientRequest);
+                callback.response(clientResponse);
+                return CompletableFuture.completedFuture(clientResponse);
+            }
+            catch (Throwable e) {
+                callback.failure(e);
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "Unix socket connector";
+        }
+
+        @Override
+        public void close() {
+            try {
+                httpClient.stop();
+            }
+            catch (Exception e) {
+                throw new ProcessingException("Failed to stop the unix socket client.", e);
+            }
+        }
+    }
+}
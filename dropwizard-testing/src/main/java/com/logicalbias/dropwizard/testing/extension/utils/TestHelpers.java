@@ -4,11 +4,28 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayDeque;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public final class TestHelpers {
 
+    // Class hierarchies never change at runtime; compute each inheritance tree and annotation lookup only once
+    private static final ClassValue<List<Class<?>>> INHERITANCE_TREES = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            return computeClassInheritanceTree(type);
+        }
+    };
+
+    private static final ClassValue<Map<Class<? extends Annotation>, List<? extends Annotation>>> ANNOTATIONS = new ClassValue<>() {
+        @Override
+        protected Map<Class<? extends Annotation>, List<? extends Annotation>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private TestHelpers() {
     }
 
@@ -44,21 +61,26 @@ public final class TestHelpers {
 
     /**
      * Returns all instances of the specified annotation starting from the provided
-     * class and going up the class hierarchy in order.
+     * class and going up the class hierarchy in order. The returned list is unmodifiable.
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Annotation> List<T> findAnnotations(final Class<?> classType, Class<T> annotation) {
-        return buildClassInheritanceTree(classType).stream()
+        return (List<T>) ANNOTATIONS.get(classType).computeIfAbsent(annotation, k -> buildClassInheritanceTree(classType).stream()
                 .map(type -> type.getDeclaredAnnotation(annotation))
                 .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList()));
     }
 
     /**
      * Generates a list of all inherited types up to Object for the specified class.
      * The list will be in BFS ordering (types closer to definition of the specified
-     * type are first in the list).
+     * type are first in the list). The returned list is unmodifiable.
      */
     public static List<Class<?>> buildClassInheritanceTree(final Class<?> classType) {
+        return INHERITANCE_TREES.get(classType);
+    }
+
+    private static List<Class<?>> computeClassInheritanceTree(final Class<?> classType) {
         // The inheritance tree may contain duplicate references; store in LinkedHashSet to
         // ensure ordering and distinctiveness of tree is maintained
         var inheritedTypes = new LinkedHashSet<Class<?>>();
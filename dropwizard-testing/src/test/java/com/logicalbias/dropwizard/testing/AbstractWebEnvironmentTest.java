@@ -0,0 +1,67 @@
+package com.logicalbias.dropwizard.testing;
+
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.logicalbias.dropwizard.testing.application.widgets.Widget;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Requests every web environment serving requests must handle the same; subclasses declare the @DropwizardTest.
+ */
+@MockBean(WidgetService.class)
+@RequiredArgsConstructor
+abstract class AbstractWebEnvironmentTest {
+
+    protected final TestClient client;
+    protected final WidgetService widgetService;
+
+    @Test
+    void testGet() {
+        Mockito.when(widgetService.getWidget("1")).thenReturn("\"widget-1\"");
+
+        var response = client.get("widgets/{id}", 1)
+                .expectStatus(Response.Status.OK)
+                .andReturn(String.class);
+
+        assertEquals("\"widget-1\"", response);
+    }
+
+    @Test
+    void testQueryParams() {
+        var response = client.get("widgets/params")
+                .queryParam("stringValue", "Test String")
+                .queryParam("intValue", 27)
+                .andReturn(JsonNode.class);
+
+        assertEquals("Test String", response.path("stringValue").asText());
+        assertEquals(27, response.path("intValue").asInt());
+    }
+
+    @Test
+    void testPostBody() {
+        var widget = new Widget(1L, "name", "description");
+
+        var response = client.post("widgets")
+                .body(widget)
+                .expectStatus(Response.Status.OK)
+                .andReturn(Widget.class);
+
+        assertEquals(widget, response);
+    }
+
+    @Test
+    void testUnknownResource() {
+        client.get("unknown")
+                .expectStatus(Response.Status.NOT_FOUND)
+                .andReturn();
+    }
+}
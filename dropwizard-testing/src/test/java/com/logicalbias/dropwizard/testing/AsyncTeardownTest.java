@@ -0,0 +1,68 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.core.server.AbstractServerFactory;
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import io.dropwizard.util.Duration;
+import lombok.RequiredArgsConstructor;
+
+import org.eclipse.jetty.server.Server;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * The nested test session runs with its own (uncached) application context cache; the application of the same key
+ * cached by this session is neither shared with nor shut down by it.
+ */
+@RequiredArgsConstructor
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=AsyncTeardownApp",
+        webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+class AsyncTeardownTest {
+
+    private static Server server;
+    private static Duration shutdownGracePeriod;
+
+    private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+
+    @Test
+    void testApplicationsAreStoppedBeforeSessionEnds() {
+        // Without caching every application is shut down (in the background) once its test class completes
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(UncachedTest.class))
+                .configurationParameter("dropwizard.test.context.cache.maxSize", "0")
+                .configurationParameter("dropwizard.test.context.teardown.zeroGracePeriod", "true")
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(1).succeeded(1));
+
+        assertTrue(server.isStopped());
+        assertEquals(Duration.seconds(0), shutdownGracePeriod);
+
+        var cachedServer = appExtension.getEnvironment().getApplicationContext().getServer();
+        assertNotSame(cachedServer, server);
+        assertTrue(cachedServer.isStarted());
+    }
+
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=AsyncTeardownApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class UncachedTest {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+
+        @Test
+        void testApplicationStarted() {
+            server = appExtension.getEnvironment().getApplicationContext().getServer();
+            shutdownGracePeriod = ((AbstractServerFactory) appExtension.getConfiguration().getServerFactory()).getShutdownGracePeriod();
+            assertTrue(server.isStarted());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.logicalbias.dropwizard.testing;
+
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+import com.logicalbias.dropwizard.testing.extension.context.ExtensionHooks;
+
+@RequiredArgsConstructor
+@ExtendWith(BackgroundStartupTest.PropertyRegisteringExtension.class)
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp",
+        webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+class BackgroundStartupTest {
+
+    private final ApplicationConfiguration configuration;
+
+    @Test
+    void testPropertiesRegisteredDuringBeforeAllAreApplied() {
+        Assertions.assertEquals("background-startup", configuration.getDescription());
+    }
+
+    @Test
+    void testDeclaredPropertiesTakePrecedenceOverRegisteredProperties() {
+        Assertions.assertEquals("TestApp", configuration.getName());
+    }
+
+    static class PropertyRegisteringExtension implements BeforeAllCallback {
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            ExtensionHooks.from(context).overrideProperty("name", "background-startup");
+            ExtensionHooks.from(context).overrideProperty("description", "background-startup");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.logicalbias.dropwizard.testing;
+
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.generic.BooleanService;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+import com.logicalbias.dropwizard.testing.extension.context.ExtensionHooks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RequiredArgsConstructor
+@ExtendWith(BeanResolutionTest.GreeterExtension.class)
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp",
+        webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+class BeanResolutionTest {
+
+    private static final EnglishGreeter ENGLISH_GREETER = new EnglishGreeter();
+    private static final FrenchGreeter FRENCH_GREETER = new FrenchGreeter();
+
+    private final EnglishGreeter englishGreeter;
+    private final FrenchGreeter frenchGreeter;
+    private int providedBooleanServices;
+
+    @BeforeEach
+    void beforeEach() {
+        // Test method parameters are resolved after this
+        providedBooleanServices = BooleanService.Provider.PROVIDED.get();
+    }
+
+    @Test
+    void testExactImplementationIsResolvedFromSupertype() {
+        // Both implementations are only bound to the Greeter contract
+        assertSame(ENGLISH_GREETER, englishGreeter);
+        assertSame(FRENCH_GREETER, frenchGreeter);
+    }
+
+    @Test
+    void testFactoryProvidedImplementationIsResolvedFromSupertype(BooleanService booleanService) {
+        // The implementation is only provided by a factory bound to the GenericService<Boolean> contract
+        assertNotNull(booleanService);
+        assertTrue(booleanService.process(true));
+
+        // Only the resolved bean is provided; the candidates are not provided to find out what they provide
+        assertEquals(providedBooleanServices + 1, BooleanService.Provider.PROVIDED.get());
+    }
+
+    @Test
+    void testResolutionIsRepeatable(FrenchGreeter frenchGreeter) {
+        assertSame(FRENCH_GREETER, frenchGreeter);
+    }
+
+    public interface Greeter {
+    }
+
+    public static class EnglishGreeter implements Greeter {
+    }
+
+    public static class FrenchGreeter implements Greeter {
+    }
+
+    static class GreeterExtension implements BeforeAllCallback {
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            ExtensionHooks.from(context)
+                    .register(Greeter.class, "english", ENGLISH_GREETER)
+                    .register(Greeter.class, "french", FRENCH_GREETER);
+        }
+    }
+}
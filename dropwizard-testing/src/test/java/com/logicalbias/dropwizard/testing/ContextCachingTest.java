@@ -0,0 +1,101 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.mockito.Mockito;
+import org.mockito.internal.util.MockUtil;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+public class ContextCachingTest {
+
+    private static DropwizardAppExtension<?> firstAppExtension;
+
+    private static void assertSharedAppExtension(DropwizardAppExtension<?> appExtension) {
+        if (firstAppExtension == null) {
+            firstAppExtension = appExtension;
+        }
+
+        assertSame(firstAppExtension, appExtension);
+    }
+
+    @Nested
+    @Order(1)
+    @RequiredArgsConstructor
+    @MockBean(WidgetService.class)
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=CachedApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class MockedCachedContextTest {
+
+        private final DropwizardAppExtension<?> appExtension;
+        private final WidgetService widgetService;
+        private final TestClient testClient;
+
+        @Test
+        void testApplicationIsShared() {
+            assertSharedAppExtension(appExtension);
+        }
+
+        @Test
+        void testApplicationUsesClassMock() {
+            assertTrue(MockUtil.isMock(widgetService));
+
+            Mockito.doReturn("mocked").when(widgetService).getWidget(Mockito.anyString());
+            assertEquals("mocked", testClient.get("widgets/{widgetId}", "1").andReturn(String.class));
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=CachedApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class FirstCachedContextTest {
+
+        private final DropwizardAppExtension<?> appExtension;
+        private final WidgetService widgetService;
+        private final TestClient testClient;
+
+        @Test
+        void testApplicationIsShared() {
+            assertSharedAppExtension(appExtension);
+        }
+
+        @Test
+        void testApplicationUsesRealImplementation() {
+            assertFalse(MockUtil.isMock(widgetService));
+            assertEquals("Widget: 1", testClient.get("widgets/{widgetId}", "1").andReturn(String.class));
+        }
+    }
+
+    @Nested
+    @Order(3)
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=CachedApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class SecondCachedContextTest {
+
+        private final DropwizardAppExtension<?> appExtension;
+
+        @Test
+        void testApplicationIsShared() {
+            assertSharedAppExtension(appExtension);
+        }
+    }
+}
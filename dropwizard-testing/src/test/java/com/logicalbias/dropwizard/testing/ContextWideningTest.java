@@ -0,0 +1,93 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import lombok.RequiredArgsConstructor;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.mockito.internal.util.MockUtil;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.generic.GenericService;
+import com.logicalbias.dropwizard.testing.application.generic.StringService;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An application started for a new set of mocks also proxies the mocked interfaces of the cached variants of the same
+ * application (so it can serve their test classes as well), but never their mocked classes.
+ */
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+public class ContextWideningTest {
+
+    private static ServiceLocator getServiceLocator(DropwizardAppExtension<?> appExtension) {
+        var container = (ServletContainer) appExtension.getEnvironment().getJerseyServletContainer();
+        return container.getApplicationHandler().getInjectionManager().getInstance(ServiceLocator.class);
+    }
+
+    @Nested
+    @Order(1)
+    @RequiredArgsConstructor
+    @MockBean(WidgetService.class)
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=WideningApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class MockedClassTest {
+
+        private final WidgetService widgetService;
+
+        @Test
+        void testClassIsMocked() {
+            assertTrue(MockUtil.isMock(widgetService));
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=WideningApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class MockedInterfaceTest {
+
+        @MockBean
+        private final GenericService<String> genericService;
+        private final DropwizardAppExtension<?> appExtension;
+
+        @Test
+        void testMockedClassOfCachedVariantIsNotProxied() {
+            assertTrue(MockUtil.isMock(genericService));
+            assertFalse(MockUtil.isMock(getServiceLocator(appExtension).getService(WidgetService.class)));
+        }
+    }
+
+    @Nested
+    @Order(3)
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=WideningApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class UnmockedImplementationTest {
+
+        private final StringService stringService;
+        private final WidgetService widgetService;
+        private final DropwizardAppExtension<?> appExtension;
+
+        @Test
+        void testImplementationsAreUsed() {
+            assertFalse(MockUtil.isMock(stringService));
+            assertEquals("value", stringService.process("value"));
+
+            assertFalse(MockUtil.isMock(widgetService));
+            assertFalse(MockUtil.isMock(getServiceLocator(appExtension).getService(WidgetService.class)));
+            assertEquals("Widget: 1", widgetService.getWidget("1"));
+        }
+    }
+}
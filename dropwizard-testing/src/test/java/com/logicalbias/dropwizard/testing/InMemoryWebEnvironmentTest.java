@@ -0,0 +1,31 @@
+package com.logicalbias.dropwizard.testing;
+
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", webEnvironment = DropwizardTest.WebEnvironment.IN_MEMORY)
+class InMemoryWebEnvironmentTest extends AbstractWebEnvironmentTest {
+
+    InMemoryWebEnvironmentTest(TestClient client, WidgetService widgetService) {
+        super(client, widgetService);
+    }
+
+    @Test
+    void testNoPortIsBound() {
+        assertEquals(-1, client.getLocalPort());
+    }
+
+    @Test
+    void testRequestIsTimed() {
+        var request = client.get("widgets/{id}", 1);
+        request.andReturn();
+
+        assertEquals("/widgets/{id}", request.getTiming().getPath());
+    }
+}
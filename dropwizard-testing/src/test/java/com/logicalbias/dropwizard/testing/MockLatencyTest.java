@@ -0,0 +1,48 @@
+package com.logicalbias.dropwizard.testing;
+
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockLatency;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp")
+@MockBean(value = WidgetService.class, latency = @MockLatency(
+        distribution = MockLatency.Distribution.FIXED,
+        millis = 100,
+        errorRate = 1.0,
+        error = IllegalStateException.class))
+@RequiredArgsConstructor
+public class MockLatencyTest {
+
+    private final TestClient testClient;
+    private final WidgetService widgetService;
+
+    @Test
+    void testApplicationInvocationsAreDelayedAndFail() {
+        Mockito.doReturn("widget").when(widgetService).getWidget(Mockito.anyString());
+
+        var start = System.nanoTime();
+        testClient.get("widgets/{widgetId}", "1")
+                .expectStatus(Response.Status.INTERNAL_SERVER_ERROR)
+                .andReturn();
+
+        assertTrue(System.nanoTime() - start >= 100_000_000L);
+    }
+
+    @Test
+    void testDirectInvocationsAreNotAffected() {
+        Mockito.doReturn("widget").when(widgetService).getWidget(Mockito.anyString());
+        assertEquals("widget", widgetService.getWidget("1"));
+    }
+}
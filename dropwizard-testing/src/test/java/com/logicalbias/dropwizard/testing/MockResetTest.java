@@ -0,0 +1,112 @@
+package com.logicalbias.dropwizard.testing;
+
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.Mockito;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockReset;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MockResetTest {
+
+    @Nested
+    @RequiredArgsConstructor
+    @MockBean(WidgetService.class)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp")
+    class ResetAfterEachTest {
+
+        private final WidgetService widgetService;
+
+        @Test
+        @Order(1)
+        void testStubMock() {
+            Mockito.doReturn("stubbed").when(widgetService).getWidget("1");
+            assertEquals("stubbed", widgetService.getWidget("1"));
+        }
+
+        @Test
+        @Order(2)
+        void testMockWasReset() {
+            assertNull(widgetService.getWidget("1"));
+        }
+    }
+
+    @Nested
+    @RequiredArgsConstructor
+    @MockBean(WidgetService.class)
+    @MockReset(MockReset.Policy.NEVER)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp")
+    class NeverResetTest {
+
+        private final WidgetService widgetService;
+
+        @Test
+        @Order(1)
+        void testStubMock() {
+            Mockito.doReturn("stubbed").when(widgetService).getWidget("1");
+            assertEquals("stubbed", widgetService.getWidget("1"));
+        }
+
+        @Test
+        @Order(2)
+        void testMockWasNotReset() {
+            assertEquals("stubbed", widgetService.getWidget("1"));
+        }
+    }
+
+    @Nested
+    @RequiredArgsConstructor
+    @MockBean(WidgetService.class)
+    @MockReset(MockReset.Policy.NEVER)
+    @TestClassOrder(ClassOrderer.OrderAnnotation.class)
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp")
+    class ResetAfterClassTest {
+
+        private final WidgetService widgetService;
+
+        @Nested
+        @Order(1)
+        @MockReset(MockReset.Policy.AFTER_CLASS)
+        @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+        class StubbingTest {
+
+            @Test
+            @Order(1)
+            void testStubMock() {
+                Mockito.doReturn("stubbed").when(widgetService).getWidget("1");
+                assertEquals("stubbed", widgetService.getWidget("1"));
+            }
+
+            @Test
+            @Order(2)
+            void testMockWasNotReset() {
+                assertEquals("stubbed", widgetService.getWidget("1"));
+            }
+        }
+
+        @Nested
+        @Order(2)
+        class FollowingTest {
+
+            @Test
+            void testMockWasResetAfterClass() {
+                assertNull(widgetService.getWidget("1"));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.TestProperties;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@RequiredArgsConstructor
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=NestedApp",
+        webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+class NestedContextTest {
+
+    private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+    private final TestClient client;
+
+    @MockBean
+    private WidgetService widgetService;
+
+    @Test
+    void testEnclosingApplication() {
+        Mockito.doReturn("outer").when(widgetService).getWidget("1");
+        assertEquals("outer", client.get("widgets/{widgetId}", "1").andReturn(String.class));
+    }
+
+    @Nested
+    @RequiredArgsConstructor
+    class InheritedConfigurationTest {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> nestedAppExtension;
+        private final TestClient nestedClient;
+
+        @Test
+        void testApplicationIsShared() {
+            assertSame(appExtension, nestedAppExtension);
+            assertEquals("NestedApp", nestedAppExtension.getConfiguration().getName());
+        }
+
+        @Test
+        void testEnclosingMocksAreUsed() {
+            Mockito.doReturn("nested").when(widgetService).getWidget("1");
+            assertEquals("nested", nestedClient.get("widgets/{widgetId}", "1").andReturn(String.class));
+        }
+    }
+
+    @Nested
+    @RequiredArgsConstructor
+    @TestProperties(properties = "name=OtherNestedApp")
+    class DifferentConfigurationTest {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> nestedAppExtension;
+
+        @Test
+        void testApplicationIsNotShared() {
+            assertNotSame(appExtension, nestedAppExtension);
+            assertEquals("OtherNestedApp", nestedAppExtension.getConfiguration().getName());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.logicalbias.dropwizard.testing;
+
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+@RequiredArgsConstructor
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=service-only",
+        webEnvironment = DropwizardTest.WebEnvironment.NONE)
+class NoneWebEnvironmentTest {
+
+    private final ApplicationConfiguration configuration;
+    private final WidgetService widgetService;
+
+    @Test
+    void testServicesAreAvailable() {
+        assertEquals("service-only", configuration.getName());
+        assertNotNull(widgetService);
+    }
+
+    @Test
+    void testTestClientIsNotAvailable() {
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(TestClientRequestingTest.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(1).failed(1))
+                .assertThatEvents()
+                .haveExactly(1, finishedWithFailure(message(msg -> msg.contains("NONE web environment"))));
+    }
+
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", webEnvironment = DropwizardTest.WebEnvironment.NONE)
+    static class TestClientRequestingTest {
+
+        @Test
+        void testClient(TestClient client) {
+            assertNotNull(client);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * Runs two test classes declaring different configurations on separate threads; both classes must be running at the
+ * same time (enforced by a barrier) and must each observe their own configuration and ports.
+ */
+public class ParallelClassExecutionTest {
+
+    private static final CyclicBarrier BARRIER = new CyclicBarrier(2);
+
+    @Test
+    void testClassesRunConcurrentlyWithIsolatedConfiguration() {
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .configurationParameter("junit.jupiter.execution.parallel.mode.classes.default", "concurrent")
+                .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+                .configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism", "2")
+                .selectors(selectClass(FirstParallelClass.class), selectClass(SecondParallelClass.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(2).succeeded(2));
+    }
+
+    private static void awaitOtherClass() throws Exception {
+        BARRIER.await(60, TimeUnit.SECONDS);
+    }
+
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=first")
+    static class FirstParallelClass {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+
+        @Test
+        void testIsolatedConfiguration() throws Exception {
+            awaitOtherClass();
+            assertEquals("first", appExtension.getConfiguration().getName());
+            assertNotEquals(8080, appExtension.getLocalPort());
+        }
+    }
+
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=second")
+    static class SecondParallelClass {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+
+        @Test
+        void testIsolatedConfiguration() throws Exception {
+            awaitOtherClass();
+            assertEquals("second", appExtension.getConfiguration().getName());
+            assertNotEquals(8080, appExtension.getLocalPort());
+        }
+    }
+}
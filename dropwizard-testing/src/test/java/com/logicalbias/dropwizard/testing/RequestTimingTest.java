@@ -0,0 +1,107 @@
+package com.logicalbias.dropwizard.testing;
+
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.client.EndpointTiming;
+import com.logicalbias.dropwizard.testing.extension.client.RequestTiming;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+@MockBean(WidgetService.class)
+@RequiredArgsConstructor
+class RequestTimingTest {
+
+    private final TestClient client;
+    private final WidgetService widgetService;
+
+    @Test
+    void testTimingOfRequest() {
+        Mockito.when(widgetService.getWidget("1")).thenReturn("\"widget-1\"");
+
+        var request = client.get("widgets/{id}", 1)
+                .expectStatus(Response.Status.OK);
+        request.andReturn(String.class);
+
+        var timing = request.getTiming();
+        assertEquals("GET", timing.getMethod());
+        assertEquals("/widgets/{id}", timing.getPath());
+        assertEquals(200, timing.getStatus());
+        assertTrue(timing.getPhases().containsKey(RequestTiming.Phase.MATCHING), timing.toString());
+        assertTrue(timing.getPhases().containsKey(RequestTiming.Phase.RESOURCE_METHOD), timing.toString());
+        assertTrue(timing.getPhases().containsKey(RequestTiming.Phase.RESPONSE_WRITING), timing.toString());
+        assertFalse(timing.getPhases().containsKey(RequestTiming.Phase.EXCEPTION_MAPPING), timing.toString());
+        assertTrue(timing.getDuration(RequestTiming.Phase.RESOURCE_METHOD).compareTo(timing.getTotal()) <= 0, timing.toString());
+        assertNotNull(timing.getClientTotal());
+    }
+
+    @Test
+    void testTimingOfFailedRequest() {
+        Mockito.when(widgetService.getWidget("1")).thenThrow(new IllegalStateException("Widget failure"));
+
+        var request = client.get("widgets/{id}", 1)
+                .expectStatus(Response.Status.INTERNAL_SERVER_ERROR);
+        request.andReturn();
+
+        var timing = request.getTiming();
+        assertEquals(500, timing.getStatus());
+        assertTrue(timing.getPhases().containsKey(RequestTiming.Phase.EXCEPTION_MAPPING), timing.toString());
+    }
+
+    @Test
+    void testTimingOfUnmatchedRequest() {
+        var request = client.get("unknown/path")
+                .expectStatus(Response.Status.NOT_FOUND);
+        request.andReturn();
+
+        assertEquals("(unmatched)", request.getTiming().getPath());
+    }
+
+    @Test
+    void testEndpointTimingsAreAggregated() {
+        var requests = getWidgetRequests();
+
+        for (int i = 0; i < 3; i++) {
+            var request = client.get("widgets/{id}", i);
+            request.andReturn();
+
+            // Waits for the application to complete the timing of the request
+            request.getTiming();
+        }
+
+        var endpoint = findWidgetEndpoint();
+        assertEquals(requests + 3, endpoint.getCount());
+        assertTrue(endpoint.getMax().compareTo(endpoint.getMean()) >= 0, endpoint.toString());
+        assertEquals(1, client.getRequestTimings().getSlowestEndpoints(1).size());
+    }
+
+    @Test
+    void testTimingRequiresRequest() {
+        assertThrows(IllegalStateException.class, () -> client.get("widgets/{id}", 1).getTiming());
+    }
+
+    private int getWidgetRequests() {
+        var endpoint = findWidgetEndpoint();
+        return endpoint == null ? 0 : endpoint.getCount();
+    }
+
+    private EndpointTiming findWidgetEndpoint() {
+        return client.getRequestTimings().getEndpoints().stream()
+                .filter(endpoint -> endpoint.getMethod().equals("GET") && endpoint.getPath().equals("/widgets/{id}"))
+                .findFirst()
+                .orElse(null);
+    }
+}
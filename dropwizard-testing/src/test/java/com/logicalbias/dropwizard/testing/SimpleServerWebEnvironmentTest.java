@@ -0,0 +1,73 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The web environments binding connectors also support applications configured with a simple server (a single
+ * connector serving both the application and admin contexts).
+ */
+class SimpleServerWebEnvironmentTest {
+
+    @Nested
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "simple-config.yml", webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    class RandomPortTest extends AbstractWebEnvironmentTest {
+
+        RandomPortTest(TestClient client, WidgetService widgetService) {
+            super(client, widgetService);
+        }
+
+        @Test
+        void testConnectorIsBoundToRandomPort() {
+            assertTrue(client.getLocalPort() > 0);
+            assertNotEquals(8080, client.getLocalPort());
+        }
+
+        @Test
+        void testRequestToAdminContextIsNotTimed() {
+            // The admin servlets are not served by Jersey; the request is discarded once no timing was recorded in time
+            var request = client.get("admin/ping")
+                    .expectStatus(Response.Status.OK);
+            request.andReturn();
+
+            var e = assertThrows(IllegalStateException.class, request::getTiming);
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+    }
+
+    @Nested
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "simple-config.yml", webEnvironment = DropwizardTest.WebEnvironment.UNIX_SOCKET)
+    class UnixSocketTest extends AbstractWebEnvironmentTest {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+
+        UnixSocketTest(TestClient client, WidgetService widgetService, DropwizardAppExtension<ApplicationConfiguration> appExtension) {
+            super(client, widgetService);
+            this.appExtension = appExtension;
+        }
+
+        @Test
+        void testConnectorIsBoundToSocket() {
+            assertTrue(Files.exists(UnixSocketWebEnvironmentTest.findUnixDomainConnector(appExtension).getUnixDomainPath()));
+            assertEquals(-1, client.getLocalPort());
+        }
+    }
+}
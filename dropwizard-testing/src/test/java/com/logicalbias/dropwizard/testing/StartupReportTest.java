@@ -0,0 +1,55 @@
+package com.logicalbias.dropwizard.testing;
+
+import lombok.RequiredArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+import com.logicalbias.dropwizard.testing.extension.context.StartupReport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+@RequiredArgsConstructor
+class StartupReportTest {
+
+    private final StartupReport startupReport;
+
+    @Test
+    void testEveryPhaseIsRecorded() {
+        assertEquals(DropwizardTestApplication.class, startupReport.getApplicationClass());
+
+        for (var phase : new StartupReport.Phase[] {
+                StartupReport.Phase.INITIALIZE,
+                StartupReport.Phase.CONFIGURATION,
+                StartupReport.Phase.BUNDLES,
+                StartupReport.Phase.APPLICATION,
+                StartupReport.Phase.SERVER,
+                StartupReport.Phase.JERSEY,
+                StartupReport.Phase.HK2_BINDING,
+                StartupReport.Phase.CONNECTORS }) {
+            assertTrue(startupReport.getPhases().containsKey(phase), phase + " was not recorded: " + startupReport);
+        }
+    }
+
+    @Test
+    void testSequentialPhasesFitWithinTotal() {
+        var sequential = startupReport.getDuration(StartupReport.Phase.INITIALIZE)
+                .plus(startupReport.getDuration(StartupReport.Phase.CONFIGURATION))
+                .plus(startupReport.getDuration(StartupReport.Phase.BUNDLES))
+                .plus(startupReport.getDuration(StartupReport.Phase.APPLICATION))
+                .plus(startupReport.getDuration(StartupReport.Phase.SERVER));
+
+        assertTrue(sequential.compareTo(startupReport.getTotal()) <= 0, startupReport.toString());
+        assertTrue(startupReport.getDuration(StartupReport.Phase.CONNECTORS)
+                .compareTo(startupReport.getDuration(StartupReport.Phase.SERVER)) <= 0, startupReport.toString());
+    }
+
+    @Test
+    void testReportIsSharedAcrossInjections(StartupReport injected) {
+        assertSame(startupReport, injected);
+    }
+}
@@ -7,7 +7,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.Test;
@@ -102,4 +104,18 @@ public class TestClientTest {
         assertEquals(27, response.path("intValue").asInt());
     }
 
+    @Test
+    void testAsyncRequests() {
+        var responses = IntStream.range(0, 20)
+                .mapToObj(i -> client.get("widgets/params")
+                        .queryParam("intValue", i)
+                        .andReturnAsync(JsonNode.class))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(i, responses.get(i).join().path("intValue").asInt());
+        }
+    }
+
 }
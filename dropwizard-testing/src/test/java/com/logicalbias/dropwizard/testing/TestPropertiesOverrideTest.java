@@ -21,6 +21,12 @@ class TestPropertiesOverrideTest implements DeclaredParent {
         Assertions.assertEquals("test-child", configuration.getName());
         Assertions.assertEquals("test-application", configuration.getDescription());
     }
+
+    @Test
+    void testPropertyOverridesAreNotAppliedAsSystemProperties() {
+        Assertions.assertNull(System.getProperty("dw.name"));
+        Assertions.assertNull(System.getProperty("dw.description"));
+    }
 }
 
 @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=TestApp")
@@ -0,0 +1,44 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.eclipse.jetty.unixdomain.server.UnixDomainServerConnector;
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", webEnvironment = DropwizardTest.WebEnvironment.UNIX_SOCKET)
+class UnixSocketWebEnvironmentTest extends AbstractWebEnvironmentTest {
+
+    private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+
+    UnixSocketWebEnvironmentTest(TestClient client, WidgetService widgetService, DropwizardAppExtension<ApplicationConfiguration> appExtension) {
+        super(client, widgetService);
+        this.appExtension = appExtension;
+    }
+
+    @Test
+    void testApplicationConnectorIsBoundToSocket() {
+        assertTrue(Files.exists(findUnixDomainConnector(appExtension).getUnixDomainPath()));
+        assertEquals(-1, client.getLocalPort());
+    }
+
+    static UnixDomainServerConnector findUnixDomainConnector(DropwizardAppExtension<?> appExtension) {
+        var server = appExtension.getEnvironment().getApplicationContext().getServer();
+        return Arrays.stream(server.getConnectors())
+                .filter(UnixDomainServerConnector.class::isInstance)
+                .map(UnixDomainServerConnector.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,79 @@
+package com.logicalbias.dropwizard.testing;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import lombok.RequiredArgsConstructor;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+import com.logicalbias.dropwizard.testing.extension.context.DropwizardTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class VirtualThreadsTest {
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testVirtualThreads() {
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(VirtualThreadsEnabledTest.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(1).succeeded(1));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void testVirtualThreadsRequireJava21() {
+        var failure = EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(VirtualThreadsEnabledTest.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(1).failed(1))
+                .failed()
+                .stream()
+                .findFirst()
+                .flatMap(event -> event.getPayload(TestExecutionResult.class))
+                .flatMap(TestExecutionResult::getThrowable)
+                .orElseThrow();
+
+        // Dropwizard fails to create the server's thread pool
+        assertTrue(ExceptionUtils.getThrowableList(failure).stream()
+                .anyMatch(cause -> cause instanceof IllegalStateException
+                        && "Error while obtaining a virtual thread executor".equals(cause.getMessage())), ExceptionUtils.getStackTrace(failure));
+    }
+
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", virtualThreads = true,
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class VirtualThreadsEnabledTest {
+
+        private final DropwizardAppExtension<ApplicationConfiguration> appExtension;
+        private final TestClient client;
+
+        @Test
+        void testRequestsRunOnVirtualThreads() {
+            var threadPool = appExtension.getEnvironment().getApplicationContext().getServer().getThreadPool();
+            assertTrue(VirtualThreads.isUseVirtualThreads(threadPool));
+            assertSame(VirtualThreads.getDefaultVirtualThreadsExecutor(), client.getAsyncExecutor());
+
+            var response = client.get("widgets/params")
+                    .queryParam("intValue", 27)
+                    .andReturnAsync(JsonNode.class)
+                    .join();
+            assertEquals(27, response.path("intValue").asInt());
+        }
+    }
+}
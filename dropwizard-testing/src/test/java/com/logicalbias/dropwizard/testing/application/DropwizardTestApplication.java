@@ -10,6 +10,7 @@ import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 import com.codahale.metrics.health.HealthCheck;
+import com.logicalbias.dropwizard.testing.application.generic.BooleanService;
 import com.logicalbias.dropwizard.testing.application.generic.GenericService;
 import com.logicalbias.dropwizard.testing.application.generic.NumberService;
 import com.logicalbias.dropwizard.testing.application.generic.StringService;
@@ -74,6 +75,10 @@ public class DropwizardTestApplication extends Application<ApplicationConfigurat
                     .to(new TypeLiteral<GenericService<Number>>() {
                     })
                     .in(Singleton.class);
+
+            bindFactory(BooleanService.Provider.class, Singleton.class)
+                    .to(new TypeLiteral<GenericService<Boolean>>() {
+                    });
         }
     }
 
@@ -0,0 +1,37 @@
+package com.logicalbias.dropwizard.testing.application.generic;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.hk2.api.Factory;
+
+/**
+ * Only bound through its {@link Provider} against {@code GenericService<Boolean>} (a new instance per lookup); the
+ * provider declares the implementation as the type it provides.
+ */
+@Slf4j
+public class BooleanService implements GenericService<Boolean> {
+
+    @Override
+    public Boolean process(Boolean value) {
+        log.info("Processed {}", value);
+        return value;
+    }
+
+    public static class Provider implements Factory<GenericService<Boolean>> {
+
+        // Number of instances provided by every application
+        public static final AtomicInteger PROVIDED = new AtomicInteger();
+
+        @Override
+        public BooleanService provide() {
+            PROVIDED.incrementAndGet();
+            return new BooleanService();
+        }
+
+        @Override
+        public void dispose(GenericService<Boolean> instance) {
+        }
+    }
+}
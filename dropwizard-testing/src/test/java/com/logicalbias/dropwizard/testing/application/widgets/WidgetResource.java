@@ -2,7 +2,9 @@ package com.logicalbias.dropwizard.testing.application.widgets;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
@@ -31,6 +33,12 @@ public class WidgetResource {
         return widgetService.getWidget(id);
     }
 
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Widget echoWidget(Widget widget) {
+        return widget;
+    }
+
     @GET
     @Path("params")
     public String getParams(
@@ -0,0 +1,132 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+
+/**
+ * Applications are created but never started; the cache only manages their lifecycle.
+ */
+class ContextCacheTest {
+
+    private final List<String> createdContexts = new ArrayList<>();
+    private ContextCache contextCache;
+
+    @AfterEach
+    void afterEach() {
+        contextCache.close();
+    }
+
+    @Test
+    void testLeastRecentlyUsedApplicationIsEvicted() {
+        contextCache = createContextCache(Map.of(ContextCache.MAX_SIZE_PROPERTY_NAME, "2"), 0);
+
+        use("first");
+        use("second");
+        use("first");
+        use("third");
+
+        // The second application was used least recently
+        use("first");
+        use("second");
+
+        Assertions.assertEquals(List.of("first", "second", "third", "second"), createdContexts);
+        assertStatistics(2, 2, 4, 2);
+    }
+
+    @Test
+    void testMaxSizeIsExceededWhileApplicationsAreInUse() {
+        contextCache = createContextCache(Map.of(ContextCache.MAX_SIZE_PROPERTY_NAME, "1"), 0);
+
+        var first = contextCache.acquire(createKey("first"), this::createContext);
+        var second = contextCache.acquire(createKey("second"), this::createContext);
+        assertStatistics(2, 0, 2, 0);
+
+        contextCache.release(first);
+        contextCache.release(second);
+        use("third");
+
+        assertStatistics(1, 0, 3, 2);
+    }
+
+    @Test
+    void testIdleApplicationIsEvictedWhileHeapUsageIsExceeded() {
+        contextCache = createContextCache(Map.of(ContextCache.MAX_HEAP_USAGE_PROPERTY_NAME, "0.5"), 0.9);
+
+        use("first");
+        use("second");
+        use("third");
+
+        // A single application is evicted for every new one
+        assertStatistics(1, 0, 3, 2);
+        Assertions.assertNull(contextCache.prewarm(createKey("fourth"), this::createContext));
+    }
+
+    @Test
+    void testApplicationEvictedForHeapUsageIsShutDownBeforeNewOneStarts() {
+        contextCache = createContextCache(Map.of(ContextCache.MAX_HEAP_USAGE_PROPERTY_NAME, "0.5",
+                ContextCache.TEARDOWN_THREADS_PROPERTY_NAME, "2"), 0.9);
+
+        var closingThreads = new ArrayList<String>();
+        contextCache.release(contextCache.acquire(createKey("first"), key -> new ApplicationContext(key,
+                new ImportContext(key.importDefinitions()), new DependencyContext(), 0) {
+            @Override
+            synchronized void close() {
+                closingThreads.add(Thread.currentThread().getName());
+                super.close();
+            }
+        }));
+        use("second");
+
+        // Shut down by the test thread rather than a teardown thread
+        Assertions.assertEquals(List.of(Thread.currentThread().getName()), closingThreads);
+    }
+
+    @Test
+    void testCachedApplicationIsReused() {
+        contextCache = createContextCache(Map.of(), 0);
+
+        use("first");
+        use("first");
+        use("second");
+
+        Assertions.assertEquals(List.of("first", "second"), createdContexts);
+        assertStatistics(2, 1, 2, 0);
+    }
+
+    private void use(String name) {
+        contextCache.release(contextCache.acquire(createKey(name), this::createContext));
+    }
+
+    private void assertStatistics(int size, long hits, long misses, long evictions) {
+        var statistics = contextCache.getStatistics();
+        Assertions.assertEquals(size, statistics.getSize(), statistics.toString());
+        Assertions.assertEquals(hits, statistics.getHitCount(), statistics.toString());
+        Assertions.assertEquals(misses, statistics.getMissCount(), statistics.toString());
+        Assertions.assertEquals(evictions, statistics.getEvictionCount(), statistics.toString());
+    }
+
+    private ApplicationContext createContext(ContextKey key) {
+        createdContexts.add(key.properties().get("name"));
+        return new ApplicationContext(key, new ImportContext(key.importDefinitions()), new DependencyContext(), 0);
+    }
+
+    private static ContextKey createKey(String name) {
+        return new ContextKey(DropwizardTestApplication.class, "config.yml", DropwizardTest.WebEnvironment.RANDOM,
+                Map.of("name", name), List.of(), List.of());
+    }
+
+    private static ContextCache createContextCache(Map<String, String> parameters, double heapUsage) {
+        // Unless configured otherwise, applications are shut down on the calling thread
+        var settings = new ContextCache.Settings(name -> Optional.ofNullable(parameters.get(name))
+                .or(() -> Optional.ofNullable(name.equals(ContextCache.TEARDOWN_THREADS_PROPERTY_NAME) ? "0" : null)));
+        return new ContextCache(settings, () -> heapUsage);
+    }
+}
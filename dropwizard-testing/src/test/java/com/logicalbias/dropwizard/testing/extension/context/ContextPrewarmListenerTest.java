@@ -0,0 +1,112 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class ContextPrewarmListenerTest {
+
+    @Test
+    void testUpcomingApplicationIsPrewarmed() {
+        // The listener is registered with the launcher through the service loader
+        var request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(PrewarmedTest.class))
+                .configurationParameter(ContextPrewarmListener.PREWARM_COUNT_PROPERTY_NAME, "1")
+                .build();
+
+        var summary = new SummaryGeneratingListener();
+        var testPlanCache = new TestPlanCacheListener();
+        LauncherFactory.create().execute(request, summary, testPlanCache);
+
+        try {
+            var result = summary.getSummary();
+            Assertions.assertEquals(1, result.getTestsSucceededCount(), () -> String.valueOf(result.getFailures()));
+
+            // The prewarmed application was found in the cache when the test class started
+            var statistics = testPlanCache.contextCache.getStatistics();
+            Assertions.assertEquals(1, statistics.getHitCount());
+            Assertions.assertEquals(0, statistics.getMissCount());
+        }
+        finally {
+            testPlanCache.close();
+        }
+    }
+
+    @Test
+    void testUnusedApplicationIsShutDown() {
+        var request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(SkippedTest.class))
+                .configurationParameter(ContextPrewarmListener.PREWARM_COUNT_PROPERTY_NAME, "1")
+                .build();
+
+        var testPlanCache = new TestPlanCacheListener();
+        LauncherFactory.create().execute(request, testPlanCache);
+
+        try {
+            Assertions.assertEquals(1, testPlanCache.sizeWhenSkipped);
+
+            // The cache is still open; only the application which was prewarmed for the skipped class is shut down
+            Assertions.assertEquals(0, testPlanCache.contextCache.getStatistics().getSize());
+        }
+        finally {
+            testPlanCache.close();
+        }
+    }
+
+    /**
+     * Holds the cache of the launched test plan (which is separate from the cache of the session running this test)
+     * open until the test has inspected it.
+     */
+    static class TestPlanCacheListener implements TestExecutionListener {
+        private TestPlan testPlan;
+        private ContextCache contextCache;
+        private int sizeWhenSkipped;
+
+        @Override
+        public void testPlanExecutionStarted(TestPlan testPlan) {
+            this.testPlan = testPlan;
+            this.contextCache = ContextCache.open(testPlan);
+        }
+
+        @Override
+        public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+            sizeWhenSkipped = contextCache.getStatistics().getSize();
+        }
+
+        void close() {
+            ContextCache.close(testPlan);
+        }
+    }
+
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=PrewarmedApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class PrewarmedTest {
+
+        @Test
+        void testApplicationStarted(ApplicationConfiguration configuration) {
+            Assertions.assertEquals("PrewarmedApp", configuration.getName());
+        }
+    }
+
+    @Disabled("Prewarmed but never run")
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=SkippedApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class SkippedTest {
+
+        @Test
+        void testApplicationStarted() {
+            Assertions.fail("Disabled");
+        }
+    }
+}
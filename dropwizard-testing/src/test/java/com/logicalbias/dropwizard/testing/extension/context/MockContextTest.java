@@ -0,0 +1,157 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.hk2.api.Factory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.listeners.MockCreationListener;
+import org.mockito.mock.MockCreationSettings;
+
+import com.logicalbias.dropwizard.testing.application.generic.StringService;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockLatency;
+
+class MockContextTest {
+
+    private final List<Class<?>> createdMocks = new ArrayList<>();
+    private final MockCreationListener listener = new MockCreationListener() {
+        @Override
+        public void onMockCreated(Object mock, MockCreationSettings settings) {
+            createdMocks.add(settings.getTypeToMock());
+        }
+    };
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.framework().addListener(listener);
+    }
+
+    @AfterEach
+    void afterEach() {
+        Mockito.framework().removeListener(listener);
+    }
+
+    @Test
+    void testMocksAreCreatedOnFirstUse() {
+        var mockDefinitions = MockContext.findMockDefinitions(LazyMocks.class);
+        var mockContext = new MockContext(mockDefinitions);
+        Assertions.assertTrue(createdMocks.isEmpty());
+
+        var mock = mockContext.findMock(WidgetService.class, null);
+        Assertions.assertEquals(List.of(WidgetService.class), createdMocks);
+        Assertions.assertSame(mock, mockContext.getMock(mockDefinitions.get(0)));
+
+        mockContext.resetMocks();
+        Assertions.assertEquals(List.of(WidgetService.class), createdMocks);
+    }
+
+    @Test
+    void testMockProxiesAreCreatedOnFirstLookup() {
+        var mockDefinitions = MockContext.findMockDefinitions(LazyMocks.class);
+        var proxyFactories = new ArrayList<Factory<Object>>();
+        new MockProxyContext(mockDefinitions, () -> null).forEach((mockDefinition, proxyFactory) -> proxyFactories.add(proxyFactory));
+        Assertions.assertTrue(createdMocks.isEmpty());
+
+        var proxy = proxyFactories.get(0).provide();
+        Assertions.assertEquals(List.of(WidgetService.class), createdMocks);
+        Assertions.assertSame(proxy, proxyFactories.get(0).provide());
+    }
+
+    @Test
+    void testStubOnlyMocksDoNotRecordInvocations() {
+        var mockContext = new MockContext(MockContext.findMockDefinitions(StubOnlyMocks.class));
+
+        // Definitions are matched regardless of how the mock is created
+        var mockDefinition = MockContext.findMockDefinitions(WidgetMocks.class).get(0);
+        var mock = (WidgetService) mockContext.getMock(mockDefinition);
+        mock.getWidget("1");
+
+        var mockingDetails = Mockito.mockingDetails(mock);
+        Assertions.assertTrue(mockingDetails.getMockCreationSettings().isStubOnly());
+        Assertions.assertTrue(mockingDetails.getInvocations().isEmpty());
+    }
+
+    @Test
+    void testLatencyIsSimulated() {
+        var mockDefinition = MockContext.findMockDefinitions(LatencyMocks.class).get(0);
+        var mockContext = new MockContext(List.of(mockDefinition));
+
+        var start = System.nanoTime();
+        Assertions.assertThrows(IllegalStateException.class, () -> mockContext.simulateLatency(mockDefinition));
+        Assertions.assertTrue(System.nanoTime() - start >= 50_000_000L);
+    }
+
+    @Test
+    void testPercentileDelaysAreInterpolated() {
+        var latency = MockContext.findMockDefinitions(PercentileMocks.class).get(0).latency();
+        var latencyProfile = MockLatencyProfile.from(latency, WidgetService.class);
+
+        for (int i = 0; i < 1000; i++) {
+            var delay = latencyProfile.nextDelay();
+            Assertions.assertTrue(delay >= 20 && delay <= 40, "Unexpected delay: " + delay);
+        }
+    }
+
+    @Test
+    void testErrorRateIsValidatedWithoutDelay() {
+        var mockDefinitions = MockContext.findMockDefinitions(InvalidErrorRateMocks.class);
+        var e = Assertions.assertThrows(IllegalStateException.class, () -> new MockContext(mockDefinitions));
+        Assertions.assertTrue(e.getMessage().contains("errorRate"), e.getMessage());
+    }
+
+    @Test
+    void testCheckedErrorMustBeDeclared() {
+        var mockDefinitions = MockContext.findMockDefinitions(UndeclaredErrorMocks.class);
+        var e = Assertions.assertThrows(IllegalStateException.class, () -> new MockContext(mockDefinitions));
+        Assertions.assertTrue(e.getMessage().contains("WidgetService.getWidget"), e.getMessage());
+
+        // Every method of Closeable declares the IOException
+        Assertions.assertNotNull(new MockContext(MockContext.findMockDefinitions(DeclaredErrorMocks.class)));
+    }
+
+    @MockBean({ WidgetService.class, StringService.class })
+    private static class LazyMocks {
+    }
+
+    @MockBean(WidgetService.class)
+    private static class WidgetMocks {
+    }
+
+    @MockBean(value = WidgetService.class, stubOnly = true)
+    private static class StubOnlyMocks {
+    }
+
+    @MockBean(value = WidgetService.class, latency = @MockLatency(
+            distribution = MockLatency.Distribution.FIXED,
+            millis = 50,
+            errorRate = 1.0,
+            error = IllegalStateException.class))
+    private static class LatencyMocks {
+    }
+
+    @MockBean(value = WidgetService.class, latency = @MockLatency(
+            distribution = MockLatency.Distribution.PERCENTILE,
+            percentiles = { "50=20", "100=40" }))
+    private static class PercentileMocks {
+    }
+
+    @MockBean(value = WidgetService.class, latency = @MockLatency(errorRate = -0.5))
+    private static class InvalidErrorRateMocks {
+    }
+
+    @MockBean(value = WidgetService.class, latency = @MockLatency(errorRate = 0.5, error = IOException.class))
+    private static class UndeclaredErrorMocks {
+    }
+
+    @MockBean(value = Closeable.class, latency = @MockLatency(errorRate = 0.5, error = IOException.class))
+    private static class DeclaredErrorMocks {
+    }
+}
@@ -0,0 +1,101 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.hk2.api.InstanceLifecycleListener;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ServiceProfilerTest {
+
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ServiceProfiler serviceProfiler = new ServiceProfiler();
+    private ServiceLocator serviceLocator;
+
+    @BeforeEach
+    void setUp() {
+        serviceLocator = ServiceLocatorUtilities.bind(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(serviceProfiler).to(InstanceLifecycleListener.class);
+                bindAsContract(SlowService.class).in(Singleton.class);
+                bindAsContract(SlowServiceConsumer.class).in(Singleton.class);
+                bindAsContract(SlowServiceCreator.class).in(Singleton.class);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceLocator.shutdown();
+    }
+
+    @Test
+    void testSlowestServiceIsReportedWithDependents() {
+        serviceLocator.getService(SlowServiceConsumer.class);
+
+        var slowest = serviceProfiler.getSlowest(1, serviceLocator).get(0);
+        Assertions.assertEquals(SlowService.class.getName(), slowest.service());
+        Assertions.assertEquals(1, slowest.count());
+        Assertions.assertTrue(slowest.selfNanos() >= SLOW_NANOS);
+        Assertions.assertEquals(List.of(SlowServiceConsumer.class.getName(), SlowService.class.getName()), slowest.chain());
+
+        var description = serviceProfiler.describeSlowest(1, serviceLocator);
+        Assertions.assertTrue(description.contains("via ServiceProfilerTest$SlowServiceConsumer -> ServiceProfilerTest$SlowService"), description);
+    }
+
+    @Test
+    void testCreatedServicesAreExcludedFromCreator() {
+        serviceLocator.getService(SlowServiceCreator.class);
+
+        var timings = serviceProfiler.getSlowest(2, serviceLocator);
+        Assertions.assertEquals(SlowService.class.getName(), timings.get(0).service());
+        Assertions.assertEquals(List.of(SlowServiceCreator.class.getName(), SlowService.class.getName()), timings.get(0).chain());
+
+        var creator = timings.get(1);
+        Assertions.assertEquals(SlowServiceCreator.class.getName(), creator.service());
+        Assertions.assertTrue(creator.totalNanos() >= SLOW_NANOS);
+        Assertions.assertTrue(creator.selfNanos() < SLOW_NANOS);
+    }
+
+    @Test
+    void testResetDiscardsTimings() {
+        serviceLocator.getService(SlowServiceConsumer.class);
+        serviceProfiler.reset();
+
+        Assertions.assertTrue(serviceProfiler.getSlowest(10, serviceLocator).isEmpty());
+    }
+
+    static class SlowService {
+
+        SlowService() throws InterruptedException {
+            TimeUnit.NANOSECONDS.sleep(SLOW_NANOS);
+        }
+    }
+
+    static class SlowServiceConsumer {
+
+        @Inject
+        SlowServiceConsumer(SlowService slowService) {
+        }
+    }
+
+    static class SlowServiceCreator {
+
+        @Inject
+        SlowServiceCreator(Provider<SlowService> slowService) {
+            slowService.get();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+import org.glassfish.hk2.api.InstanceLifecycleListener;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetResource;
+import com.logicalbias.dropwizard.testing.application.widgets.WidgetService;
+import com.logicalbias.dropwizard.testing.extension.annotation.MockBean;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class ServiceProfilingTest {
+
+    @Test
+    void testResourcesAreProfiled() {
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(ProfiledTest.class))
+                .configurationParameter(ContextCache.PROFILED_SERVICES_PROPERTY_NAME, "10")
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(1).succeeded(1));
+    }
+
+    @MockBean(WidgetService.class)
+    @RequiredArgsConstructor
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=ProfiledApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class ProfiledTest {
+
+        private final TestClient client;
+        private final DropwizardAppExtension<?> appExtension;
+
+        @Test
+        void testRequestedResourceIsProfiled() {
+            // Resources are created on their first request
+            client.get("widgets/{id}", 1).andReturn();
+
+            var container = (ServletContainer) appExtension.getEnvironment().getJerseyServletContainer();
+            var serviceLocator = container.getApplicationHandler().getInjectionManager().getInstance(ServiceLocator.class);
+            var serviceProfiler = serviceLocator.getAllServices(InstanceLifecycleListener.class).stream()
+                    .filter(ServiceProfiler.class::isInstance)
+                    .map(ServiceProfiler.class::cast)
+                    .findFirst()
+                    .orElseThrow();
+
+            var timings = serviceProfiler.getSlowest(Integer.MAX_VALUE, serviceLocator);
+            Assertions.assertEquals(List.of(WidgetResource.class.getName()), findTiming(timings, WidgetResource.class).chain());
+
+            // The mocked service is identified by its descriptor rather than by the class of the mock
+            Assertions.assertEquals(List.of(WidgetResource.class.getName(), WidgetService.class.getName()),
+                    findTiming(timings, WidgetService.class).chain());
+        }
+
+        private static ServiceProfiler.ServiceTiming findTiming(List<ServiceProfiler.ServiceTiming> timings, Class<?> service) {
+            return timings.stream()
+                    .filter(timing -> timing.service().equals(service.getName()))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError(service.getName() + " was not profiled"));
+        }
+    }
+}
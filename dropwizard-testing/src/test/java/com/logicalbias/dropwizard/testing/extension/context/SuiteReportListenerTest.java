@@ -0,0 +1,127 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicalbias.dropwizard.testing.application.ApplicationConfiguration;
+import com.logicalbias.dropwizard.testing.application.DropwizardTestApplication;
+import com.logicalbias.dropwizard.testing.extension.client.TestClient;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class SuiteReportListenerTest {
+
+    @TempDir
+    Path reportDirectory;
+
+    @Test
+    void testReportIsWritten() throws Exception {
+        // The listener is registered with the launcher through the service loader
+        var request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(FirstTest.class), selectClass(SecondTest.class), selectClass(OtherPropertiesTest.class))
+                .configurationParameter(SuiteReportListener.ENABLED_PROPERTY_NAME, "true")
+                .configurationParameter(SuiteReportListener.DIRECTORY_PROPERTY_NAME, reportDirectory.toString())
+                .build();
+
+        var summary = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(request, summary);
+
+        var result = summary.getSummary();
+        Assertions.assertEquals(3, result.getTestsSucceededCount(), () -> String.valueOf(result.getFailures()));
+
+        var report = new ObjectMapper().readTree(reportDirectory.resolve("dropwizard-test-report.json").toFile());
+        var suite = report.get("suite");
+        Assertions.assertEquals(3, suite.get("testClasses").asInt());
+        Assertions.assertEquals(2, suite.get("contexts").asInt());
+        Assertions.assertEquals(1, suite.get("cacheHits").asInt());
+        Assertions.assertEquals(2, suite.get("cacheMisses").asInt());
+        Assertions.assertEquals(1, suite.get("requests").asInt());
+
+        Assertions.assertEquals("BOOTED", findTestClass(report, FirstTest.class).get("reuse").asText());
+        Assertions.assertEquals("CACHED", findTestClass(report, SecondTest.class).get("reuse").asText());
+        Assertions.assertEquals("BOOTED", findTestClass(report, OtherPropertiesTest.class).get("reuse").asText());
+
+        // The peak heap is sampled while every class runs
+        for (var testClass : report.get("testClasses")) {
+            Assertions.assertTrue(testClass.get("peakHeapBytes").asLong() > 0, testClass::toString);
+        }
+
+        // Every application was shut down when the session closed
+        for (var context : report.get("contexts")) {
+            Assertions.assertEquals(1, context.get("boots").asInt());
+            Assertions.assertEquals(1, context.get("teardowns").asInt());
+        }
+
+        // The second context could have been avoided but for the differing property
+        var otherContext = report.get("contexts").get(1);
+        Assertions.assertEquals(List.of(OtherPropertiesTest.class.getName()), toList(otherContext.get("testClasses")));
+        Assertions.assertEquals(List.of("property name"), toList(otherContext.get("differsFrom").get("differences")));
+
+        // Requests served by the applications are listed by endpoint as they are served
+        var endpoint = report.get("endpoints").get(0);
+        Assertions.assertEquals("GET", endpoint.get("method").asText());
+        Assertions.assertEquals("/widgets/params", endpoint.get("path").asText());
+        Assertions.assertEquals(1, endpoint.get("requests").asInt());
+
+        var summaryText = Files.readString(reportDirectory.resolve("dropwizard-test-report.txt"));
+        Assertions.assertTrue(summaryText.contains("could not reuse"), summaryText);
+        Assertions.assertTrue(summaryText.contains("GET /widgets/params"), summaryText);
+    }
+
+    private static JsonNode findTestClass(JsonNode report, Class<?> testClass) {
+        for (var entry : report.get("testClasses")) {
+            if (entry.get("testClass").asText().equals(testClass.getName())) {
+                return entry;
+            }
+        }
+        throw new AssertionError(testClass.getName() + " is not part of the report");
+    }
+
+    private static List<String> toList(JsonNode array) {
+        var values = new ArrayList<String>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=SuiteReportApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class FirstTest {
+
+        @Test
+        void testApplicationStarted(ApplicationConfiguration configuration) {
+            Assertions.assertEquals("SuiteReportApp", configuration.getName());
+        }
+    }
+
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=SuiteReportApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class SecondTest {
+
+        @Test
+        void testApplicationStarted(ApplicationConfiguration configuration, TestClient client) {
+            Assertions.assertEquals("SuiteReportApp", configuration.getName());
+            client.get("widgets/params").andReturn();
+        }
+    }
+
+    @DropwizardTest(value = DropwizardTestApplication.class, configFile = "config.yml", properties = "name=OtherSuiteReportApp",
+            webEnvironment = DropwizardTest.WebEnvironment.RANDOM)
+    static class OtherPropertiesTest {
+
+        @Test
+        void testApplicationStarted(ApplicationConfiguration configuration) {
+            Assertions.assertEquals("OtherSuiteReportApp", configuration.getName());
+        }
+    }
+}
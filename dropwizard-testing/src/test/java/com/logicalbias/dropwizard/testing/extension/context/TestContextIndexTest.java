@@ -0,0 +1,25 @@
+package com.logicalbias.dropwizard.testing.extension.context;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TestContextIndexTest {
+
+    @Test
+    void testParse() {
+        var fingerprints = TestContextIndex.parse(Map.of(
+                "com.example.FirstTest.fingerprint", "abc",
+                "com.example.SecondTest.fingerprint", "def",
+                // Attributes written by earlier versions of the processor are ignored
+                "com.example.FirstTest.declares", "MockBean,TestProperties"));
+
+        Assertions.assertEquals(Map.of("com.example.FirstTest", "abc", "com.example.SecondTest", "def"), fingerprints);
+    }
+
+    @Test
+    void testUnindexedClassesHaveNoFingerprint() {
+        Assertions.assertTrue(TestContextIndex.findFingerprint(TestContextIndexTest.class).isEmpty());
+    }
+}